@@ -0,0 +1,106 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import rest.ApiExecutors;
+import rest.ApiUtil;
+import rest.CustomResponse;
+import rest.HttpAuthenticator;
+import rest.LatencyHistogram;
+import restStub.ApiSimulator;
+import restStub.StubServer;
+
+/**
+ * Sends the same ApiUtil calls against {@link ApiSimulator} datasets of growing
+ * size, through a local {@link StubServer}, and prints throughput and latency
+ * percentiles per call and size: how ApiUtil and CustomResponse cope as
+ * employees, holidays, vacancies and candidates grow.
+ *
+ * Settings (system properties): bench.sizes (default 100,10000,1000000 rows
+ * per resource), bench.requests per call (default 200), bench.concurrency
+ * (default 8), bench.fullListMax (default 10000, the largest size for which the
+ * whole employee list is fetched with limit=0) and bench.seed (default 42).
+ */
+public class DatasetScalingBenchmark {
+	private static final String EMPLOYEES = "/web/index.php/api/v2/pim/employees";
+
+	public static void main(String[] args) throws Exception {
+		int requests = Integer.getInteger("bench.requests", 200);
+		int concurrency = Integer.getInteger("bench.concurrency", 8);
+		int fullListMax = Integer.getInteger("bench.fullListMax", 10000);
+		System.out.printf("Workload: %d requests per call, %d in flight%n", requests, concurrency);
+
+		for (String size : System.getProperty("bench.sizes", "100,10000,1000000").split(",")) {
+			int rows = Integer.parseInt(size.trim());
+			Map<String, Integer> sizes = new HashMap<>();
+			for (String resource : new String[] { "pim/employees", "leave/holidays", "recruitment/vacancies",
+					"recruitment/candidates" }) {
+				sizes.put(resource, rows);
+			}
+			try (StubServer server = new StubServer(new ApiSimulator(Long.getLong("bench.seed", 42), sizes), 0,
+					"Admin", "bench", 0, 0, 0)) {
+				ApiUtil api = new ApiUtil(server.getBaseUrl());
+				String cookie = new HttpAuthenticator(server.getBaseUrl()).login("Admin", "bench");
+
+				Map<String, Supplier<CustomResponse>> calls = new LinkedHashMap<>();
+				calls.put("employees first page", () -> api.GetEmpData(EMPLOYEES + "?limit=50&offset=0", cookie, null));
+				calls.put("employees last page",
+						() -> api.GetEmpData(EMPLOYEES + "?limit=50&offset=" + Math.max(0, rows - 50), cookie, null));
+				calls.put("employee count", () -> api.GetEmpCount(EMPLOYEES + "/count", cookie, null));
+				calls.put("holidays 2025", () -> api.GetHolidayData(
+						"/web/index.php/api/v2/leave/holidays?fromDate=2025-01-01&toDate=2025-12-31", cookie, null));
+				calls.put("vacancies page", () -> api.GetVacancies(
+						"/web/index.php/api/v2/recruitment/vacancies?limit=50&offset=0", cookie, null));
+				if (rows <= fullListMax) {
+					calls.put("employees limit=0", () -> api.GetEmpData(EMPLOYEES + "?limit=0", cookie, null));
+				}
+
+				System.out.printf("%n%,d rows per resource%n", rows);
+				for (Map.Entry<String, Supplier<CustomResponse>> call : calls.entrySet()) {
+					// warm up, then measure
+					run(call.getKey(), Math.min(20, requests), concurrency, call.getValue(), false);
+					run(call.getKey(), requests, concurrency, call.getValue(), true);
+				}
+			}
+		}
+		System.exit(0);
+	}
+
+	private static void run(String label, int requests, int concurrency, Supplier<CustomResponse> call, boolean print)
+			throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+				ApiExecutors.platformThreadFactory("bench"));
+		LatencyHistogram histogram = new LatencyHistogram();
+		long start = System.nanoTime();
+		List<Future<Integer>> results = new ArrayList<>(requests);
+		for (int i = 0; i < requests; i++) {
+			results.add(executor.submit(() -> {
+				long sent = System.nanoTime();
+				CustomResponse response = call.get();
+				histogram.record(System.nanoTime() - sent);
+				return response.getStatusCode();
+			}));
+		}
+		int errors = 0;
+		for (Future<Integer> result : results) {
+			errors += result.get() == 200 ? 0 : 1;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		if (print) {
+			System.out.printf("  %-22s %8.1f req/s | p50 %7.2f ms | p99 %8.2f ms | errors %d%n", label,
+					requests / seconds, histogram.getValueAtPercentile(50) / 1000.0,
+					histogram.getValueAtPercentile(99) / 1000.0, errors);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import rest.ApiExecutors;
+import rest.ApiUtil;
+import rest.HttpAuthenticator;
+import restConfig.ConfigManager;
+import restStub.ApiSimulator;
+import restStub.StubServer;
+
+/**
+ * Compares platform threads against virtual threads on the real blocking path
+ * of a read-only check in RestAssured_TestCases: every task calls
+ * {@link ApiUtil#GetHolidayData} through the shared SharedHttpClient and its
+ * interceptor chain against a local {@link StubServer}, which answers from the
+ * {@link ApiSimulator} after a fixed delay standing in for the network.
+ *
+ * All tasks share one connection pool, so at most http.pool.maxPerRoute
+ * requests are on the wire at once whatever the executor; raise it (e.g.
+ * -Dhttp.pool.maxPerRoute=200 -Dhttp.pool.maxTotal=200) to see what the
+ * threads alone allow.
+ *
+ * Settings (system properties): bench.tasks (default 2000), bench.latencyMillis
+ * (default 50), bench.platformThreads (default 200), bench.rows (holidays in the
+ * dataset, default 20). Virtual threads are only measured on Java 21+.
+ */
+public class ExecutorBenchmark {
+	private static final String HOLIDAYS = "/web/index.php/api/v2/leave/holidays?fromDate=2025-01-01&toDate=2025-12-31";
+
+	public static void main(String[] args) throws Exception {
+		int tasks = Integer.getInteger("bench.tasks", 2000);
+		int latencyMillis = Integer.getInteger("bench.latencyMillis", 50);
+		int platformThreads = Integer.getInteger("bench.platformThreads", 200);
+		int rows = Integer.getInteger("bench.rows", 20);
+
+		Map<String, Integer> sizes = new HashMap<>();
+		sizes.put("leave/holidays", rows);
+		try (StubServer server = new StubServer(new ApiSimulator(42, sizes), 0, "Admin", "bench", latencyMillis, 0,
+				0)) {
+			ApiUtil api = new ApiUtil(server.getBaseUrl());
+			String cookie = new HttpAuthenticator(server.getBaseUrl()).login("Admin", "bench");
+			System.out.printf("Workload: %d GetHolidayData calls, %d ms server latency, %d-row response, "
+					+ "pool of %d connections per route%n", tasks, latencyMillis, rows,
+					ConfigManager.config().getInt("http.pool.maxPerRoute", 20));
+
+			// warm up the pool, the parsers and the JIT
+			run(null, Executors.newFixedThreadPool(8, ApiExecutors.platformThreadFactory("bench-warmup")),
+					Math.min(200, tasks), api, cookie);
+			run("platform (" + platformThreads + " threads)",
+					Executors.newFixedThreadPool(platformThreads, ApiExecutors.platformThreadFactory("bench")), tasks,
+					api, cookie);
+
+			ThreadFactory virtual = ApiExecutors.virtualThreadFactory("bench-virtual");
+			if (virtual == null) {
+				System.out.println("virtual: skipped, virtual threads need Java 21+");
+			} else {
+				ExecutorService perTask = (ExecutorService) Executors.class
+						.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, virtual);
+				run("virtual (thread per task)", perTask, tasks, api, cookie);
+			}
+		}
+		System.exit(0);
+	}
+
+	private static void run(String label, ExecutorService executor, int tasks, ApiUtil api, String cookie)
+			throws Exception {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		threads.resetPeakThreadCount();
+
+		long start = System.nanoTime();
+		List<Future<Integer>> results = new ArrayList<>(tasks);
+		for (int i = 0; i < tasks; i++) {
+			results.add(executor.submit(() -> api.GetHolidayData(HOLIDAYS, cookie, null).getStatusCode()));
+		}
+		int errors = 0;
+		for (Future<Integer> result : results) {
+			errors += result.get() == 200 ? 0 : 1;
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+
+		if (label != null) {
+			double seconds = elapsedNanos / 1e9;
+			System.out.printf("%-28s wall %8.2f s | %10.1f calls/s | peak platform threads %5d | errors %d%n", label,
+					seconds, tasks / seconds, threads.getPeakThreadCount(), errors);
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package benchmarks;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.restassured.response.Response;
+import rest.ApiCall;
+import rest.ApiExecutors;
+import rest.Http2Transport;
+import rest.SharedHttpClient;
+
+/**
+ * Sends the same concurrent GETs once through the RestAssured connection pool
+ * and once through the java.net.http {@link Http2Transport}, and prints
+ * throughput, latency percentiles, the protocol used and (for the local server)
+ * the number of TCP connections each transport opened.
+ *
+ * Against a real environment (HTTPS, HTTP/2 capable) pass bench.baseUrl,
+ * bench.path and bench.cookie. Without bench.baseUrl a local HTTP/1.1 server
+ * with bench.latencyMillis of simulated latency is used; the JDK server cannot
+ * speak HTTP/2, so that run shows the HTTP/1.1 fallback of the new transport.
+ *
+ * Settings (system properties): bench.requests (default 2000),
+ * bench.concurrency (default 64), bench.latencyMillis (default 20), bench.rows
+ * (default 20).
+ */
+public class TransportBenchmark {
+	private static final Set<Integer> CONNECTIONS = ConcurrentHashMap.newKeySet();
+
+	public static void main(String[] args) throws Exception {
+		int requests = Integer.getInteger("bench.requests", 2000);
+		int concurrency = Integer.getInteger("bench.concurrency", 64);
+		String baseUrl = System.getProperty("bench.baseUrl");
+		String path = System.getProperty("bench.path", "/web/index.php/api/v2/leave/holidays");
+		String cookie = System.getProperty("bench.cookie", "bench");
+
+		HttpServer server = null;
+		if (baseUrl == null) {
+			server = localServer(Integer.getInteger("bench.latencyMillis", 20), Integer.getInteger("bench.rows", 20));
+			baseUrl = "http://localhost:" + server.getAddress().getPort();
+		}
+		System.out.printf("Workload: %d GETs of %s%s, %d in flight%n", requests, baseUrl, path, concurrency);
+
+		String url = baseUrl + path;
+		SharedHttpClient client = SharedHttpClient.forBaseUrl(baseUrl);
+		Http2Transport http2 = new Http2Transport(HttpClient.Version.HTTP_2, trustAll(), Duration.ofSeconds(10),
+				Duration.ofSeconds(30));
+		Function<Integer, ApiCall> call = i -> new ApiCall("GET", url, cookie,
+				client.given().cookie("orangehrm", cookie),
+				spec -> spec.get(url).then().extract().response());
+
+		// warm up both paths (class loading, connection set-up, JIT)
+		run("warm-up restassured", Math.min(200, requests), concurrency, i -> client.execute(call.apply(i)));
+		run("warm-up http2", Math.min(200, requests), concurrency, i -> http2.send(call.apply(i)));
+
+		run("restassured (HTTP/1.1 pool)", requests, concurrency, i -> client.execute(call.apply(i)));
+		run("java.net.http", requests, concurrency, i -> http2.send(call.apply(i)));
+
+		if (server != null) {
+			server.stop(0);
+		}
+		System.exit(0);
+	}
+
+	private static void run(String label, int requests, int concurrency, Function<Integer, Response> send)
+			throws Exception {
+		CONNECTIONS.clear();
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+				ApiExecutors.platformThreadFactory("bench"));
+		long start = System.nanoTime();
+		List<Future<long[]>> results = new ArrayList<>(requests);
+		for (int i = 0; i < requests; i++) {
+			int index = i;
+			results.add(executor.submit(() -> {
+				long sent = System.nanoTime();
+				Response response = send.apply(index);
+				return new long[] { System.nanoTime() - sent, response.getStatusCode(),
+						response.getStatusLine().startsWith("HTTP/2") ? 2 : 1 };
+			}));
+		}
+		long[] latencies = new long[requests];
+		int errors = 0;
+		int http2 = 0;
+		for (int i = 0; i < requests; i++) {
+			long[] result = results.get(i).get();
+			latencies[i] = result[0];
+			errors += result[1] == 200 ? 0 : 1;
+			http2 += result[2] == 2 ? 1 : 0;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+
+		Arrays.sort(latencies);
+		System.out.printf("%-30s %8.1f req/s | p50 %6.1f ms | p99 %7.1f ms | %s | connections %s | errors %d%n",
+				label, requests / seconds, latencies[requests / 2] / 1e6, latencies[requests * 99 / 100] / 1e6,
+				http2 == requests ? "HTTP/2" : http2 == 0 ? "HTTP/1.1" : "mixed", CONNECTIONS.isEmpty() ? "n/a"
+						: String.valueOf(CONNECTIONS.size()),
+				errors);
+	}
+
+	private static HttpServer localServer(int latencyMillis, int rows) throws Exception {
+		byte[] body = holidayBody(rows).getBytes(StandardCharsets.UTF_8);
+		HttpServer server = HttpServer.create(new InetSocketAddress(0), 1024);
+		server.setExecutor(Executors.newCachedThreadPool(ApiExecutors.platformThreadFactory("bench-server")));
+		server.createContext("/", exchange -> {
+			CONNECTIONS.add(exchange.getRemoteAddress().getPort());
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		server.start();
+		return server;
+	}
+
+	private static SSLContext trustAll() throws Exception {
+		TrustManager[] trustAll = { new X509TrustManager() {
+			public void checkClientTrusted(X509Certificate[] chain, String authType) {
+			}
+
+			public void checkServerTrusted(X509Certificate[] chain, String authType) {
+			}
+
+			public X509Certificate[] getAcceptedIssuers() {
+				return new X509Certificate[0];
+			}
+		} };
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(null, trustAll, new SecureRandom());
+		return sslContext;
+	}
+
+	private static String holidayBody(int rows) {
+		StringBuilder body = new StringBuilder("{\"data\":[");
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				body.append(',');
+			}
+			body.append("{\"id\":").append(i + 1).append(",\"name\":\"Holiday ").append(i + 1)
+					.append("\",\"date\":\"2025-01-").append(String.format("%02d", i % 28 + 1))
+					.append("\",\"recurring\":false,\"length\":0,\"lengthName\":\"Full Day\"}");
+		}
+		return body.append("],\"meta\":{\"total\":").append(rows).append("}}").toString();
+	}
+}
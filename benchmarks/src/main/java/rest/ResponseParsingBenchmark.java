@@ -0,0 +1,132 @@
+package rest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import restStub.ApiSimulator;
+
+/**
+ * JMH benchmark of the response parsing behind GetHolidayData, GetLeaveType,
+ * GetUsageReport, GetVacancies and GetEmpData. Each operation wraps a canned
+ * body of 1, 100 or 10k rows in a Response, as the transports do, and parses it
+ * with the ApiUtil parser the API call uses. The bodies are generated by the
+ * {@link ApiSimulator}, so they have the shape of the live responses.
+ *
+ * It lives in package rest to reach the package-private parsers, and is only
+ * compiled with the jmh profile:
+ *
+ * <pre>
+ *   mvn -B install -DskipTests
+ *   mvn -B -f benchmarks/pom.xml -Pjmh compile exec:exec -Dbench.rows=1,100,10000
+ * </pre>
+ *
+ * Throughput and average time per operation, with the allocation rate of the
+ * gc profiler (gc.alloc.rate.norm is bytes per operation), are written as JSON
+ * to bench.jmh.result (default target/jmh-parsing.json).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParsingBenchmark {
+	private static final String API = "/web/index.php/api/v2/";
+
+	@Param({ "1", "100", "10000" })
+	public int rows;
+
+	private String holidays;
+	private String leaveTypes;
+	private String usageReport;
+	private String vacancies;
+	private String employees;
+
+	@Setup
+	public void setUp() {
+		Map<String, Integer> sizes = new HashMap<>();
+		for (String resource : new String[] { "leave/holidays", "leave/leave-types", "recruitment/vacancies",
+				"pim/employees" }) {
+			sizes.put(resource, rows);
+		}
+		ApiSimulator simulator = new ApiSimulator(42, sizes);
+		holidays = simulator.handle("GET", API + "leave/holidays", "", "").getBody();
+		leaveTypes = simulator.handle("GET", API + "leave/leave-types", "limit=0", "").getBody();
+		vacancies = simulator.handle("GET", API + "recruitment/vacancies", "limit=0", "").getBody();
+		employees = simulator.handle("GET", API + "pim/employees", "limit=0", "").getBody();
+		usageReport = usageReportBody(rows);
+	}
+
+	@Benchmark
+	public CustomResponse getHolidayData() {
+		return ApiUtil.parseHolidayData(response(holidays));
+	}
+
+	@Benchmark
+	public CustomResponse getLeaveType() {
+		return ApiUtil.parseLeaveType(response(leaveTypes));
+	}
+
+	@Benchmark
+	public CustomResponse getUsageReport() {
+		return ApiUtil.parseUsageReport(response(usageReport));
+	}
+
+	@Benchmark
+	public CustomResponse getVacancies() {
+		return ApiUtil.parseVacancies(response(vacancies));
+	}
+
+	@Benchmark
+	public CustomResponse getEmpData() {
+		return ApiUtil.parseEmpData(response(employees));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		String result = System.getProperty("bench.jmh.result", "target/jmh-parsing.json");
+		Options options = new OptionsBuilder().include(ResponseParsingBenchmark.class.getName())
+				.param("rows", System.getProperty("bench.rows", "1,100,10000").split("\\s*,\\s*"))
+				.addProfiler(GCProfiler.class).resultFormat(ResultFormatType.JSON).result(result).build();
+		new Runner(options).run();
+		System.out.println("✅ JMH results written to " + result);
+	}
+
+	private static Response response(String body) {
+		return new ResponseBuilder().setStatusCode(200).setStatusLine("HTTP/1.0 200 OK")
+				.setContentType("application/json").setBody(body).build();
+	}
+
+	// the simulator's report always has the six columns of the live one
+	private static String usageReportBody(int rows) {
+		StringBuilder body = new StringBuilder("{\"data\":{\"headers\":[");
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				body.append(',');
+			}
+			body.append("{\"name\":\"Column ").append(i + 1).append("\",\"prop\":\"column").append(i + 1)
+					.append("\",\"size\":160,\"pin\":null,\"cellProperties\":{\"class\":{\"cell-action\":true}}}");
+		}
+		return body.append("],\"filters\":[]},\"meta\":[],\"rels\":[]}").toString();
+	}
+}
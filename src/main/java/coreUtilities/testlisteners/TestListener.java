@@ -1,22 +1,31 @@
 package coreUtilities.testlisteners;
 
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 
 import coreUtilities.utils.ExtentReportManager;
+import rest.MetricsInterceptor;
+import restConfig.ConfigManager;
+import restStub.StubServer;
 import static coreUtilities.testutils.TestUtils.businessTestFile;
 import static coreUtilities.testutils.TestUtils.currentTest;
 import static coreUtilities.testutils.TestUtils.yakshaAssert;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 
 
-public class TestListener implements ITestListener
+public class TestListener implements ITestListener, ISuiteListener
 {
 
 	//Extent Report Declarations
@@ -25,12 +34,47 @@ public class TestListener implements ITestListener
  
     public synchronized void onStart(ITestContext context) {
         System.out.println("Extent Reports Version 3 Test Suite started!");
+        // Apply the config overlay for the <parameter name="environment"> of this test
+        ConfigManager.useEnvironment(context.getCurrentXmlTest().getParameter("environment"));
     }
  
     public synchronized void onFinish(ITestContext context) {
         System.out.println(("Extent Reports Version 3  Test Suite is ending!"));
         extent.flush();
     }
+
+    // With stub.replay=true the suite runs against recorded responses on a local stub server
+    public synchronized void onStart(ISuite suite) {
+        StubServer.startFromConfig();
+    }
+
+    // Dumps the latency histograms of every API call of the run and adds a summary table to the report
+    public synchronized void onFinish(ISuite suite) {
+        List<Map<String, Object>> summary = MetricsInterceptor.shared().summary();
+        if (summary.isEmpty()) {
+            return;
+        }
+        String file = ConfigManager.config().getString("http.metrics.file", "TestReport/latency-histograms.json");
+        try {
+            MetricsInterceptor.shared().writeJson(new File(file));
+            System.out.println("✅ API latency histograms written to " + file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        String[] columns = { "method", "endpoint", "count", "errors", "p50", "p90", "p95", "p99", "p999", "max" };
+        String[][] table = new String[summary.size() + 1][];
+        table[0] = new String[] { "Method", "Endpoint", "Count", "Errors", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p999 ms", "Max ms" };
+        for (int row = 0; row < summary.size(); row++) {
+            table[row + 1] = new String[columns.length];
+            for (int column = 0; column < columns.length; column++) {
+                table[row + 1][column] = String.valueOf(summary.get(row).get(columns[column]));
+            }
+        }
+        extent.createTest("API latency summary", "Latency per endpoint of every request sent in " + suite.getName())
+                .info(MarkupHelper.createTable(table));
+        extent.flush();
+    }
  
     public synchronized void onTestStart(ITestResult result) {
         System.out.println((result.getMethod().getMethodName() + " started!"));
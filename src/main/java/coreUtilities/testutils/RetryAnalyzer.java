@@ -3,6 +3,11 @@ package coreUtilities.testutils;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+/**
+ * Re-runs a failed test method up to maxRetryLimit times (0 = never). Transient
+ * HTTP failures are already retried per request by rest.RetryInterceptor, so
+ * this stays off.
+ */
 public class RetryAnalyzer implements IRetryAnalyzer
 {
 	int count=0;
@@ -0,0 +1,52 @@
+package coreUtilities.testutils;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.IThreadWorkerFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+
+import rest.ApiExecutors;
+import restConfig.ConfigManager;
+
+/**
+ * TestNG executor factory that runs suites and test methods on threads from
+ * {@link ApiExecutors}, so tests and the API calls they make share one execution
+ * mode. In virtual mode the XML thread-count is replaced by a high concurrency
+ * cap, since virtual threads do not need a tuned pool size.
+ */
+public class SharedExecutorFactory implements IExecutorFactory {
+
+	@Override
+	public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+			IThreadWorkerFactory<ISuite> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+			TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ISuite> comparator) {
+		GraphThreadPoolExecutor<ISuite> executor = new GraphThreadPoolExecutor<>(name, graph, factory,
+				poolSize(corePoolSize), poolSize(maximumPoolSize), keepAliveTime, unit, workQueue, comparator);
+		executor.setThreadFactory(ApiExecutors.threadFactory("testng-suite"));
+		return executor;
+	}
+
+	@Override
+	public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+			IThreadWorkerFactory<ITestNGMethod> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+			TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ITestNGMethod> comparator) {
+		GraphThreadPoolExecutor<ITestNGMethod> executor = new GraphThreadPoolExecutor<>(name, graph, factory,
+				poolSize(corePoolSize), poolSize(maximumPoolSize), keepAliveTime, unit, workQueue, comparator);
+		executor.setThreadFactory(ApiExecutors.threadFactory("testng-method"));
+		return executor;
+	}
+
+	private static int poolSize(int configured) {
+		if (!ApiExecutors.isVirtual()) {
+			return configured;
+		}
+		return ConfigManager.config().getInt("execution.virtual.maxConcurrency", 10000);
+	}
+}
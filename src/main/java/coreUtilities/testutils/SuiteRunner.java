@@ -0,0 +1,35 @@
+package coreUtilities.testutils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.TestNG;
+
+import rest.ApiExecutors;
+
+/**
+ * Runs TestNG suite files with {@link SharedExecutorFactory} installed, which
+ * surefire cannot configure. Used by the "virtual-threads" Maven profile:
+ *
+ * <pre>
+ * mvn -Pvirtual-threads test
+ * </pre>
+ */
+public class SuiteRunner {
+
+	public static void main(String[] args) {
+		List<String> suites = args.length == 0 ? Arrays.asList("testng.xml") : Arrays.asList(args);
+
+		TestNG testng = new TestNG();
+		testng.setExecutorFactory(new SharedExecutorFactory());
+		testng.setTestSuites(suites);
+
+		System.out.println("Running " + suites + " on " + ApiExecutors.mode() + " threads (virtual available: "
+				+ ApiExecutors.isVirtual() + ")");
+		testng.run();
+
+		if (testng.hasFailure() || testng.hasSkip()) {
+			throw new IllegalStateException("Suite finished with status " + testng.getStatus());
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package rest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limit using additive increase / multiplicative decrease
+ * (AIMD), as in TCP congestion control.
+ *
+ * Every request holds one slot while in flight; callers wait when all slots are
+ * taken. Each successful request grows the limit by 1/limit, i.e. by one slot
+ * per full window. A request that was overloaded (429 or 503, an exception, or
+ * a latency that grew beyond latencyTolerance times its endpoint's baseline)
+ * shrinks the limit by backoffRatio. Only one decrease happens per round trip:
+ * requests that were already in flight when the limit was cut do not cut it
+ * again.
+ *
+ * Latency is judged per endpoint, so a report that is always slow does not
+ * look overloaded next to a cheap lookup of the same family. An endpoint's
+ * baseline is a moving average of the minimum of each window of
+ * {@value #WINDOW} calls, and it is compared with a moving average of the
+ * recent latencies, so neither one lucky nor one unlucky request moves the
+ * limit. An endpoint is not judged on latency until its first window is full.
+ */
+public class AdaptiveLimiter {
+	private final int minLimit;
+	private final int maxLimit;
+	private final double backoffRatio;
+	private final double latencyTolerance;
+
+	// calls per window whose minimum feeds the baseline
+	static final int WINDOW = 20;
+	// weight of the newest window minimum in the baseline
+	private static final double BASELINE_WEIGHT = 0.2;
+	// weight of the newest latency in the recent average
+	private static final double RECENT_WEIGHT = 0.2;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition slotFreed = lock.newCondition();
+	private final Map<String, Baseline> baselines = new HashMap<>();
+	private double limit;
+	private int inFlight;
+	private long decreasedAt;
+
+	/**
+	 * Creates a limiter.
+	 *
+	 * @param initialLimit     the starting concurrency limit
+	 * @param minLimit         the limit never drops below this
+	 * @param maxLimit         the limit never grows beyond this
+	 * @param backoffRatio     the factor applied on overload, e.g. 0.5
+	 * @param latencyTolerance recent latency above this multiple of the
+	 *                         endpoint's baseline counts as overload, e.g. 2.0; 0
+	 *                         disables
+	 */
+	public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+			double latencyTolerance) {
+		this.minLimit = Math.max(1, minLimit);
+		this.maxLimit = Math.max(this.minLimit, maxLimit);
+		this.backoffRatio = backoffRatio;
+		this.latencyTolerance = latencyTolerance;
+		this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+		this.decreasedAt = System.nanoTime();
+	}
+
+	/**
+	 * Waits for a free slot and takes it.
+	 *
+	 * @return the start time of the request, to pass to {@link #release}
+	 */
+	public long acquire() {
+		lock.lock();
+		try {
+			while (inFlight >= (int) limit) {
+				slotFreed.awaitUninterruptibly();
+			}
+			inFlight++;
+			return System.nanoTime();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Frees the slot of a finished request and adjusts the limit.
+	 *
+	 * @param endpoint   the endpoint whose latency baseline the request is judged
+	 *                   against, e.g. "GET /api/v2/leave/holidays"
+	 * @param startNanos the value returned by {@link #acquire()}
+	 * @param overloaded true if the server signalled overload (429, 503, timeout)
+	 */
+	public void release(String endpoint, long startNanos, boolean overloaded) {
+		release(endpoint, startNanos, System.nanoTime(), overloaded);
+	}
+
+	// the end time is a parameter so the tests can feed latencies directly
+	void release(String endpoint, long startNanos, long now, boolean overloaded) {
+		long latency = now - startNanos;
+		lock.lock();
+		try {
+			inFlight--;
+			boolean slow = baselines.computeIfAbsent(endpoint, key -> new Baseline()).record(latency);
+			if (overloaded || slow) {
+				if (startNanos > decreasedAt) {
+					limit = Math.max(minLimit, limit * backoffRatio);
+					decreasedAt = now;
+				}
+			} else if (limit < maxLimit) {
+				limit = Math.min(maxLimit, limit + 1 / limit);
+			}
+			slotFreed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the current concurrency limit.
+	 *
+	 * @return the number of requests allowed in flight
+	 */
+	public int getLimit() {
+		lock.lock();
+		try {
+			return (int) limit;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the latency baseline of an endpoint.
+	 *
+	 * @param endpoint the endpoint passed to {@link #release}
+	 * @return the baseline in nanoseconds, or -1 until its first window is full
+	 */
+	public long getBaselineNanos(String endpoint) {
+		lock.lock();
+		try {
+			Baseline baseline = baselines.get(endpoint);
+			return baseline == null || baseline.value < 0 ? -1 : (long) baseline.value;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of requests currently in flight.
+	 *
+	 * @return the requests holding a slot
+	 */
+	public int getInFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * The latency history of one endpoint; guarded by the limiter's lock.
+	 */
+	private class Baseline {
+		private double value = -1;
+		private double recent = -1;
+		private long windowMin = Long.MAX_VALUE;
+		private int windowCalls;
+
+		// adds a latency and tells whether the endpoint is slower than its baseline
+		boolean record(long latency) {
+			recent = recent < 0 ? latency : recent + RECENT_WEIGHT * (latency - recent);
+			windowMin = Math.min(windowMin, latency);
+			if (++windowCalls == WINDOW) {
+				value = value < 0 ? windowMin : value + BASELINE_WEIGHT * (windowMin - value);
+				windowMin = Long.MAX_VALUE;
+				windowCalls = 0;
+			}
+			return latencyTolerance > 0 && value >= 0 && recent > value * latencyTolerance
+					&& recent > TimeUnit.MILLISECONDS.toNanos(1);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package rest;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * One request on its way through the {@link ApiInterceptor} chain: the HTTP
+ * method, full URL, session cookie, query parameters and body (used to identify
+ * the call, e.g. as a cache key), plus the RestAssured specification and the
+ * function that finally sends it.
+ */
+public class ApiCall {
+	// writes map bodies with sorted keys, so equal bodies give equal keys
+	private static final ObjectMapper CANONICAL = new ObjectMapper()
+			.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+	private final String method;
+	private final String url;
+	private final String session;
+	private final RequestSpecification spec;
+	private final Function<RequestSpecification, Response> sender;
+	private Map<String, ?> queryParams;
+	private Object body;
+
+	/**
+	 * Creates a call.
+	 *
+	 * @param method  the HTTP method, e.g. "GET"
+	 * @param url     the full request URL (base URL plus endpoint)
+	 * @param session the session cookie value, or null
+	 * @param spec    the prepared request specification
+	 * @param sender  sends the specification and returns the response, e.g.
+	 *                {@code spec -> spec.get(url).then().extract().response()}
+	 */
+	public ApiCall(String method, String url, String session, RequestSpecification spec,
+			Function<RequestSpecification, Response> sender) {
+		this.method = method.toUpperCase();
+		this.url = url;
+		this.session = session;
+		this.spec = spec;
+		this.sender = sender;
+	}
+
+	/**
+	 * Records the query parameters added to the specification, so they take part
+	 * in the call's identity.
+	 *
+	 * @param queryParams the query parameters, may be null
+	 * @return this call
+	 */
+	public ApiCall query(Map<String, ?> queryParams) {
+		this.queryParams = queryParams;
+		return this;
+	}
+
+	/**
+	 * Records the body added to the specification, so it takes part in the
+	 * call's identity.
+	 *
+	 * @param body the request body, may be null
+	 * @return this call
+	 */
+	public ApiCall body(Object body) {
+		this.body = body;
+		return this;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public String getSession() {
+		return session;
+	}
+
+	public Object getBody() {
+		return body;
+	}
+
+	public Map<String, ?> getQueryParams() {
+		return queryParams;
+	}
+
+	public RequestSpecification getSpec() {
+		return spec;
+	}
+
+	/**
+	 * Returns the path of the URL without query string, e.g.
+	 * "/web/index.php/api/v2/admin/job-titles".
+	 *
+	 * @return the resource path
+	 */
+	public String getPath() {
+		try {
+			String path = URI.create(url).getPath();
+			return path == null ? url : path;
+		} catch (IllegalArgumentException e) {
+			int query = url.indexOf('?');
+			return query < 0 ? url : url.substring(0, query);
+		}
+	}
+
+	/**
+	 * Indicates whether the method is a safe, idempotent read (GET or HEAD).
+	 *
+	 * @return true for GET and HEAD
+	 */
+	public boolean isRead() {
+		return "GET".equals(method) || "HEAD".equals(method);
+	}
+
+	/**
+	 * Returns a key identifying the call: method, URL, sorted query parameters,
+	 * body and session. A string body is taken as it is, any other body as JSON
+	 * with sorted map keys.
+	 *
+	 * @return the call key
+	 * @throws IllegalArgumentException if the body cannot be written as JSON
+	 */
+	public String key() {
+		StringBuilder key = new StringBuilder(method).append(' ').append(url);
+		if (queryParams != null && !queryParams.isEmpty()) {
+			key.append(url.indexOf('?') < 0 ? '?' : '&');
+			new TreeMap<String, Object>(queryParams).forEach((name, value) -> key.append(name).append('=')
+					.append(value).append('&'));
+		}
+		if (body != null) {
+			key.append(" body=").append(canonical(body));
+		}
+		return key.append(" session=").append(session).toString();
+	}
+
+	private static String canonical(Object body) {
+		if (body instanceof String) {
+			return (String) body;
+		}
+		try {
+			return CANONICAL.writeValueAsString(body);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Request body cannot be written as JSON: " + body, e);
+		}
+	}
+
+	/**
+	 * Returns a copy of this call on a fresh specification with the same
+	 * settings, so the copy can be sent while the original is still in flight
+	 * (a RequestSpecification must not be sent from two threads at once).
+	 *
+	 * @return the copied call
+	 */
+	public ApiCall copy() {
+		return new ApiCall(method, url, session, RestAssured.given().spec(spec), sender).query(queryParams).body(body);
+	}
+
+	/**
+	 * Sends the request without any further interception.
+	 *
+	 * @return the response
+	 */
+	Response send() {
+		return sender.apply(spec);
+	}
+
+	@Override
+	public String toString() {
+		return method + " " + url;
+	}
+}
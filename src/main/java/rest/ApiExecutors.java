@@ -0,0 +1,161 @@
+package rest;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import restConfig.ConfigManager;
+
+/**
+ * Pluggable executor shared by the TestNG runner and the API layer. In the
+ * default "platform" mode tasks run on a cached pool of daemon platform threads;
+ * in "virtual" mode (Java 21+) every task gets its own virtual thread, so
+ * thousands of blocking API calls can be in flight without sizing a pool.
+ *
+ * The mode is taken from the "execution.mode" system property, falling back to
+ * the same key in config.properties. Virtual threads are created reflectively so
+ * the code still compiles and runs on older Java levels, where virtual mode
+ * falls back to platform threads.
+ */
+public class ApiExecutors {
+	public static final String PLATFORM = "platform";
+	public static final String VIRTUAL = "virtual";
+
+	private static volatile ExecutorService shared;
+
+	/**
+	 * Returns the executor shared by TestNG workers and API calls, creating it for
+	 * the configured execution mode on first use.
+	 *
+	 * @return the shared ExecutorService
+	 */
+	public static ExecutorService shared() {
+		ExecutorService executor = shared;
+		if (executor == null) {
+			synchronized (ApiExecutors.class) {
+				if (shared == null) {
+					shared = newExecutor("api-worker");
+				}
+				executor = shared;
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Creates a new executor for the configured execution mode: one virtual thread
+	 * per task in virtual mode, otherwise a cached pool of platform threads.
+	 *
+	 * @param prefix the thread name prefix
+	 * @return the new ExecutorService
+	 */
+	public static ExecutorService newExecutor(String prefix) {
+		ThreadFactory factory = threadFactory(prefix);
+		if (isVirtual()) {
+			try {
+				// Executors.newThreadPerTaskExecutor(factory)
+				return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+						.invoke(null, factory);
+			} catch (ReflectiveOperationException e) {
+				// fall through to a pool backed by the same factory
+			}
+		}
+		return Executors.newCachedThreadPool(factory);
+	}
+
+	/**
+	 * Replaces the shared executor, e.g. with an instrumented or bounded one.
+	 *
+	 * @param executor the executor to use from now on
+	 */
+	public static synchronized void setShared(ExecutorService executor) {
+		shared = executor;
+	}
+
+	/**
+	 * Runs a blocking API call on the shared executor, so each call gets its own
+	 * (virtual) thread and many calls can be in flight from one test thread.
+	 *
+	 * @param call the blocking call, e.g. {@code () -> apiUtil.GetVacancies(...)}
+	 * @return a future completing with the call's result
+	 */
+	public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+		return CompletableFuture.supplyAsync(call, shared());
+	}
+
+	/**
+	 * Returns the configured execution mode, either "platform" or "virtual".
+	 *
+	 * @return the execution mode
+	 */
+	public static String mode() {
+		String mode = System.getProperty("execution.mode", ConfigManager.config().getString("execution.mode"));
+		return VIRTUAL.equalsIgnoreCase(mode) ? VIRTUAL : PLATFORM;
+	}
+
+	/**
+	 * Indicates whether virtual threads are requested and available on this JVM.
+	 *
+	 * @return true if tasks run on virtual threads
+	 */
+	public static boolean isVirtual() {
+		return VIRTUAL.equals(mode()) && virtualThreadFactory("probe") != null;
+	}
+
+	/**
+	 * Returns a thread factory for the configured execution mode.
+	 *
+	 * @param prefix the thread name prefix
+	 * @return a virtual thread factory in virtual mode, otherwise a daemon platform
+	 *         thread factory
+	 */
+	public static ThreadFactory threadFactory(String prefix) {
+		if (VIRTUAL.equals(mode())) {
+			ThreadFactory factory = virtualThreadFactory(prefix);
+			if (factory != null) {
+				return factory;
+			}
+			System.out.println("⚠️ Virtual threads need Java 21+, falling back to platform threads.");
+		}
+		return platformThreadFactory(prefix);
+	}
+
+	/**
+	 * Returns a factory of daemon platform threads named prefix-N.
+	 *
+	 * @param prefix the thread name prefix
+	 * @return the platform thread factory
+	 */
+	public static ThreadFactory platformThreadFactory(String prefix) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Returns a factory of virtual threads named prefix-N, or null when the JVM
+	 * does not support virtual threads.
+	 *
+	 * @param prefix the thread name prefix
+	 * @return the virtual thread factory, or null below Java 21
+	 */
+	public static ThreadFactory virtualThreadFactory(String prefix) {
+		try {
+			// Thread.ofVirtual().name(prefix + "-", 1).factory()
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			Method name = builderType.getMethod("name", String.class, long.class);
+			builder = name.invoke(builder, prefix + "-", 1L);
+			return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
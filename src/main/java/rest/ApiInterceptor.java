@@ -0,0 +1,35 @@
+package rest;
+
+import io.restassured.response.Response;
+
+/**
+ * Hook around every request sent through {@link SharedHttpClient#execute}.
+ * Interceptors run in registration order; each one either answers the call
+ * itself (e.g. from a cache) or passes it on with {@link Chain#proceed}, and may
+ * inspect or replace the response on the way back.
+ */
+public interface ApiInterceptor {
+
+	/**
+	 * Handles one call.
+	 *
+	 * @param call  the outgoing call; its request specification may be amended
+	 * @param chain the rest of the chain, ending with the actual HTTP request
+	 * @return the response to hand back to the caller
+	 */
+	Response intercept(ApiCall call, Chain chain);
+
+	/**
+	 * The remaining interceptors plus the HTTP request itself.
+	 */
+	interface Chain {
+
+		/**
+		 * Passes the call to the next interceptor, or sends it if none is left.
+		 *
+		 * @param call the call to send
+		 * @return the response
+		 */
+		Response proceed(ApiCall call);
+	}
+}
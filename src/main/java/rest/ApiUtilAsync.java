@@ -0,0 +1,186 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Future-returning counterpart of {@link ApiUtil}. Every endpoint method returns
+ * immediately with a CompletableFuture and runs the ApiUtil call of the same
+ * name on the executor, so a call takes exactly the path of a blocking one: the
+ * {@link SharedHttpClient} interceptor chain of the environment, its transport
+ * and the stub recorder.
+ *
+ * Each call holds an executor thread while the request is on the wire; with
+ * execution.mode=virtual that is one cheap virtual thread per call, so many
+ * calls can be in flight from one test thread.
+ *
+ * <pre>
+ * CompletableFuture&lt;CustomResponse&gt; holidays = async.GetHolidayData(endpoint, cookie, null);
+ * CompletableFuture&lt;CustomResponse&gt; titles = async.GetJobTitles(endpoint2, cookie, null);
+ * ApiUtilAsync.allOf(List.of(holidays, titles)).join();
+ * </pre>
+ */
+public class ApiUtilAsync {
+	private final ApiUtil api;
+	private final Executor executor;
+
+	/**
+	 * Creates an async API client for the given environment that runs calls on
+	 * the shared {@link ApiExecutors} executor.
+	 *
+	 * @param baseUrl the base URL all endpoints are resolved against
+	 */
+	public ApiUtilAsync(String baseUrl) {
+		this(baseUrl, ApiExecutors.shared());
+	}
+
+	/**
+	 * Creates an async API client for the given environment.
+	 *
+	 * @param baseUrl  the base URL all endpoints are resolved against
+	 * @param executor the executor that runs each call
+	 */
+	public ApiUtilAsync(String baseUrl, Executor executor) {
+		this.api = new ApiUtil(baseUrl);
+		this.executor = executor;
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetHolidayData}.
+	 */
+	public CompletableFuture<CustomResponse> GetHolidayData(String endpoint, String cookieValue,
+			Map<String, String> body) {
+		return call(() -> api.GetHolidayData(endpoint, cookieValue, body));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetLeaveData}.
+	 */
+	public CompletableFuture<CustomResponse> GetLeaveData(String endpoint, String cookieValue,
+			Map<String, String> body) {
+		return call(() -> api.GetLeaveData(endpoint, cookieValue, body));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetEmpCount}.
+	 */
+	public CompletableFuture<CustomResponse> GetEmpCount(String endpoint, String cookieValue, Map<String, String> body) {
+		return call(() -> api.GetEmpCount(endpoint, cookieValue, body));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetLeaveType}.
+	 */
+	public CompletableFuture<CustomResponse> GetLeaveType(String endpoint, String cookieValue,
+			Map<String, String> body) {
+		return call(() -> api.GetLeaveType(endpoint, cookieValue, body));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetUsageReport}.
+	 */
+	public CompletableFuture<CustomResponse> GetUsageReport(String endpoint, String cookieValue,
+			Map<String, String> body) {
+		return call(() -> api.GetUsageReport(endpoint, cookieValue, body));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetVacancies}.
+	 */
+	public CompletableFuture<CustomResponse> GetVacancies(String endpoint, String cookieValue,
+			Map<String, Object> queryParams) {
+		return call(() -> api.GetVacancies(endpoint, cookieValue, queryParams));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetJobTitles}.
+	 */
+	public CompletableFuture<CustomResponse> GetJobTitles(String endpoint, String cookieValue,
+			Map<String, Object> queryParams) {
+		return call(() -> api.GetJobTitles(endpoint, cookieValue, queryParams));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetEmpPersonalDetails}.
+	 */
+	public CompletableFuture<CustomResponse> GetEmpPersonalDetails(String endpoint, String cookieValue,
+			Map<String, Object> queryParams) {
+		return call(() -> api.GetEmpPersonalDetails(endpoint, cookieValue, queryParams));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetEmpData}.
+	 */
+	public CompletableFuture<CustomResponse> GetEmpData(String endpoint, String cookieValue, String body) {
+		return call(() -> api.GetEmpData(endpoint, cookieValue, body));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#GetLeaveWorkWeek}.
+	 */
+	public CompletableFuture<CustomResponse> GetLeaveWorkWeek(String endpoint, String cookieValue) {
+		return call(() -> api.GetLeaveWorkWeek(endpoint, cookieValue));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#PostEmployee}.
+	 */
+	public CompletableFuture<CustomResponse> PostEmployee(String endpoint, String cookieValue, String body) {
+		return call(() -> api.PostEmployee(endpoint, cookieValue, body));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#PostCandidate}.
+	 */
+	public CompletableFuture<CustomResponse> PostCandidate(String endpoint, String cookieValue, String requestBody) {
+		return call(() -> api.PostCandidate(endpoint, cookieValue, requestBody));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#PostJobCategoriesTest}.
+	 */
+	public CompletableFuture<CustomResponse> PostJobCategoriesTest(String endpoint, String cookieValue,
+			String requestBody) {
+		return call(() -> api.PostJobCategoriesTest(endpoint, cookieValue, requestBody));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#putEmployeeDetails}.
+	 */
+	public CompletableFuture<CustomResponse> putEmployeeDetails(String endpoint, String cookieValue,
+			String requestBody) {
+		return call(() -> api.putEmployeeDetails(endpoint, cookieValue, requestBody));
+	}
+
+	/**
+	 * Async counterpart of {@link ApiUtil#DeleterecruitmentCad}.
+	 */
+	public CompletableFuture<CustomResponse> DeleterecruitmentCad(String endpoint, String cookieValue,
+			String requestBody) {
+		return call(() -> api.DeleterecruitmentCad(endpoint, cookieValue, requestBody));
+	}
+
+	/**
+	 * Waits for all given calls and returns their responses in the same order.
+	 *
+	 * @param futures the in-flight calls to join
+	 * @return a future completing with every response once all calls are done
+	 */
+	public static CompletableFuture<List<CustomResponse>> allOf(List<CompletableFuture<CustomResponse>> futures) {
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+			List<CustomResponse> responses = new ArrayList<>(futures.size());
+			for (CompletableFuture<CustomResponse> future : futures) {
+				responses.add(future.join());
+			}
+			return responses;
+		});
+	}
+
+	private CompletableFuture<CustomResponse> call(Supplier<CustomResponse> call) {
+		return CompletableFuture.supplyAsync(call, executor);
+	}
+}
@@ -0,0 +1,313 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.restassured.response.Response;
+import restConfig.ConfigManager;
+
+/**
+ * Sends a stream of create requests (employees, candidates, ...) with a bounded
+ * number in flight, for seeding large volumes of test data.
+ *
+ * Payloads are pulled from the stream only when one of the concurrency permits
+ * is free, so a slow server holds back the producer instead of queueing every
+ * payload in memory. A failed item (non-200 status or exception) is recorded
+ * and the run carries on; the {@link Result} lists every item in input order
+ * together with the failures and the aggregate throughput.
+ *
+ * <pre>
+ * BulkCreator.Result result = new BulkCreator(apiUtil, cookieValue, 32).createEmployees(
+ * 		IntStream.range(0, 10000).mapToObj(i -&gt; BulkCreator.employee("Seed" + i, null, "User" + i)));
+ * </pre>
+ */
+public class BulkCreator {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final String EMPLOYEES = "/web/index.php/api/v2/pim/employees";
+	private static final String CANDIDATES = "/web/index.php/api/v2/recruitment/candidates";
+
+	private final ApiUtil apiUtil;
+	private final String cookieValue;
+	private final int concurrency;
+
+	/**
+	 * Creates a bulk creator with the concurrency from bulk.concurrency in
+	 * config.properties (default 16).
+	 *
+	 * @param apiUtil     the API client used for every request
+	 * @param cookieValue the session cookie
+	 */
+	public BulkCreator(ApiUtil apiUtil, String cookieValue) {
+		this(apiUtil, cookieValue, ConfigManager.config().getInt("bulk.concurrency", 16));
+	}
+
+	/**
+	 * Creates a bulk creator.
+	 *
+	 * @param apiUtil     the API client used for every request
+	 * @param cookieValue the session cookie
+	 * @param concurrency the maximum number of requests in flight
+	 */
+	public BulkCreator(ApiUtil apiUtil, String cookieValue, int concurrency) {
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+		}
+		this.apiUtil = apiUtil;
+		this.cookieValue = cookieValue;
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Creates one employee per JSON payload with {@link ApiUtil#PostEmployee}.
+	 *
+	 * @param payloads the request bodies, e.g. from {@link #employee}
+	 * @return the per-item results; the id is the new empNumber
+	 */
+	public Result createEmployees(Stream<String> payloads) {
+		return run(payloads, body -> apiUtil.PostEmployee(EMPLOYEES, cookieValue, body), "empNumber");
+	}
+
+	/**
+	 * Creates one candidate per JSON payload with {@link ApiUtil#PostCandidate}.
+	 *
+	 * @param payloads the request bodies, e.g. from {@link #candidate}
+	 * @return the per-item results; the id is the new candidate id
+	 */
+	public Result createCandidates(Stream<String> payloads) {
+		return run(payloads, body -> apiUtil.PostCandidate(CANDIDATES, cookieValue, body), "id");
+	}
+
+	/**
+	 * Sends every payload with the given call, at most {@code concurrency} at a
+	 * time, and waits for all of them.
+	 *
+	 * @param payloads the request bodies; consumed lazily
+	 * @param create   sends one payload, e.g. a call to an ApiUtil POST method
+	 * @param idField  the field of "data" in the response that identifies the
+	 *                 created entity
+	 * @return the per-item results
+	 */
+	public Result run(Stream<String> payloads, Function<String, CustomResponse> create, String idField) {
+		Semaphore permits = new Semaphore(concurrency);
+		Queue<Item> items = new ConcurrentLinkedQueue<>();
+		long start = System.nanoTime();
+		int index = 0;
+		try {
+			Iterator<String> iterator = payloads.iterator();
+			while (iterator.hasNext()) {
+				permits.acquireUninterruptibly();
+				String payload = iterator.next();
+				int position = index++;
+				try {
+					ApiExecutors.shared().execute(() -> {
+						try {
+							items.add(send(position, payload, create, idField));
+						} finally {
+							permits.release();
+						}
+					});
+				} catch (RuntimeException e) {
+					permits.release();
+					items.add(new Item(position, payload, -1, null, 0, e.toString()));
+				}
+			}
+		} finally {
+			// wait for the requests still in flight
+			permits.acquireUninterruptibly(concurrency);
+			permits.release(concurrency);
+			payloads.close();
+		}
+		List<Item> ordered = new ArrayList<>(items);
+		ordered.sort(Comparator.comparingInt(Item::getIndex));
+		Result result = new Result(ordered, System.nanoTime() - start);
+		System.out.println((result.getFailed() == 0 ? "✅ " : "⚠️ ") + "Bulk create: " + result);
+		return result;
+	}
+
+	private static Item send(int index, String payload, Function<String, CustomResponse> create, String idField) {
+		long start = System.nanoTime();
+		try {
+			CustomResponse customResponse = create.apply(payload);
+			long latency = System.nanoTime() - start;
+			Response response = customResponse.getResponse();
+			if (customResponse.getStatusCode() != 200) {
+				return new Item(index, payload, customResponse.getStatusCode(), null, latency,
+						response == null ? "no response" : response.asString());
+			}
+			Object id = null;
+			if (response != null) {
+				ColumnarResult data = JsonColumnExtractor.extract(response, "data", idField);
+				id = data.size() == 1 ? data.column(idField).get(0) : null;
+			}
+			return new Item(index, null, 200, id, latency, null);
+		} catch (RuntimeException e) {
+			return new Item(index, payload, -1, null, System.nanoTime() - start, e.toString());
+		}
+	}
+
+	/**
+	 * Builds a create-employee payload.
+	 *
+	 * @param firstName  the first name
+	 * @param middleName the middle name, may be null
+	 * @param lastName   the last name
+	 * @return the JSON body for {@link ApiUtil#PostEmployee}
+	 */
+	public static String employee(String firstName, String middleName, String lastName) {
+		ObjectNode body = MAPPER.createObjectNode();
+		body.putNull("empPicture");
+		body.put("firstName", firstName);
+		body.put("middleName", middleName == null ? "" : middleName);
+		body.put("lastName", lastName);
+		return body.toString();
+	}
+
+	/**
+	 * Builds a create-candidate payload.
+	 *
+	 * @param firstName the first name
+	 * @param lastName  the last name
+	 * @param email     the email address
+	 * @return the JSON body for {@link ApiUtil#PostCandidate}
+	 */
+	public static String candidate(String firstName, String lastName, String email) {
+		ObjectNode body = MAPPER.createObjectNode();
+		body.put("firstName", firstName);
+		body.put("lastName", lastName);
+		body.put("email", email);
+		return body.toString();
+	}
+
+	/**
+	 * The outcome of one payload. Successful items keep only the created id; failed
+	 * ones keep the payload and the error for the report.
+	 */
+	public static class Item {
+		private final int index;
+		private final String payload;
+		private final int statusCode;
+		private final Object id;
+		private final long latencyNanos;
+		private final String error;
+
+		Item(int index, String payload, int statusCode, Object id, long latencyNanos, String error) {
+			this.index = index;
+			this.payload = payload;
+			this.statusCode = statusCode;
+			this.id = id;
+			this.latencyNanos = latencyNanos;
+			this.error = error;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * Returns the payload of a failed item.
+		 *
+		 * @return the request body, or null for a successful item
+		 */
+		public String getPayload() {
+			return payload;
+		}
+
+		/**
+		 * Returns the HTTP status code.
+		 *
+		 * @return the status code, or -1 if the request failed with an exception
+		 */
+		public int getStatusCode() {
+			return statusCode;
+		}
+
+		public Object getId() {
+			return id;
+		}
+
+		public long getLatencyMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+		}
+
+		public String getError() {
+			return error;
+		}
+
+		public boolean isSuccess() {
+			return error == null;
+		}
+
+		@Override
+		public String toString() {
+			return "#" + index + (isSuccess() ? " id=" + id : " status=" + statusCode + " error=" + error);
+		}
+	}
+
+	/**
+	 * All items of a run in input order, with aggregate counts and throughput.
+	 */
+	public static class Result {
+		private final List<Item> items;
+		private final List<Item> failures;
+		private final long elapsedNanos;
+
+		Result(List<Item> items, long elapsedNanos) {
+			this.items = Collections.unmodifiableList(items);
+			List<Item> failed = new ArrayList<>();
+			for (Item item : items) {
+				if (!item.isSuccess()) {
+					failed.add(item);
+				}
+			}
+			this.failures = Collections.unmodifiableList(failed);
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		public List<Item> getItems() {
+			return items;
+		}
+
+		public List<Item> getFailures() {
+			return failures;
+		}
+
+		public int getSucceeded() {
+			return items.size() - failures.size();
+		}
+
+		public int getFailed() {
+			return failures.size();
+		}
+
+		public long getElapsedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+		}
+
+		/**
+		 * Returns the number of items completed per second, failures included.
+		 *
+		 * @return items per second
+		 */
+		public double getThroughput() {
+			return elapsedNanos == 0 ? 0 : items.size() * 1e9 / elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d items, %d succeeded, %d failed in %d ms (%.1f/s)", items.size(), getSucceeded(),
+					getFailed(), getElapsedMillis(), getThroughput());
+		}
+	}
+}
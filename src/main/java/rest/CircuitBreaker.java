@@ -0,0 +1,189 @@
+package rest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker over a count-based sliding window of the most recent calls.
+ *
+ * <ul>
+ * <li>CLOSED - calls pass; once the window holds at least minimumCalls
+ * outcomes and the failure rate or the slow-call rate reaches its threshold,
+ * the circuit opens.</li>
+ * <li>OPEN - calls are rejected immediately with a
+ * {@link CircuitOpenException} until openDuration has passed.</li>
+ * <li>HALF_OPEN - a single probe call is let through; if it succeeds quickly
+ * the circuit closes with a fresh window, otherwise it opens again.</li>
+ * </ul>
+ */
+public class CircuitBreaker {
+	/**
+	 * The breaker states.
+	 */
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+	private final int minimumCalls;
+	private final double failureRateThreshold;
+	private final double slowCallRateThreshold;
+	private final long slowCallNanos;
+	private final long openNanos;
+
+	private final boolean[] failed;
+	private final boolean[] slow;
+	private int next;
+	private int calls;
+	private int failures;
+	private int slowCalls;
+
+	private State state = State.CLOSED;
+	private long openedAt;
+	private boolean probing;
+	private String lastFailure;
+	private long rejected;
+
+	/**
+	 * Creates a closed breaker.
+	 *
+	 * @param name                  the name used in messages, e.g. the endpoint
+	 *                              family
+	 * @param windowSize            the number of recent calls evaluated
+	 * @param minimumCalls          calls needed in the window before it can open
+	 * @param failureRateThreshold  the failure percentage that opens it, e.g. 50
+	 * @param slowCallRateThreshold the slow-call percentage that opens it, e.g.
+	 *                              100
+	 * @param slowCallMillis        calls taking at least this long are slow
+	 * @param openMillis            how long the circuit stays open before a probe
+	 */
+	public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+			double slowCallRateThreshold, long slowCallMillis, long openMillis) {
+		this.name = name;
+		this.failed = new boolean[Math.max(1, windowSize)];
+		this.slow = new boolean[failed.length];
+		this.minimumCalls = Math.max(1, Math.min(minimumCalls, failed.length));
+		this.failureRateThreshold = failureRateThreshold;
+		this.slowCallRateThreshold = slowCallRateThreshold;
+		this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+		this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+	}
+
+	/**
+	 * Asks permission for a call. Every permitted call must be followed by
+	 * {@link #record}.
+	 *
+	 * @throws CircuitOpenException if the circuit is open, or half-open with the
+	 *                              probe already in flight
+	 */
+	public synchronized void acquire() {
+		if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+			state = State.HALF_OPEN;
+			probing = false;
+		}
+		if (state == State.CLOSED) {
+			return;
+		}
+		if (state == State.HALF_OPEN && !probing) {
+			probing = true;
+			System.out.println("⚠️ Circuit '" + name + "' is half-open, sending one probe call");
+			return;
+		}
+		rejected++;
+		long retryIn = state == State.OPEN
+				? TimeUnit.NANOSECONDS.toSeconds(Math.max(0, openNanos - (System.nanoTime() - openedAt)))
+				: 0;
+		throw new CircuitOpenException(name, state,
+				"Circuit '" + name + "' is " + state + ": the backend looks unhealthy (last failure: " + lastFailure
+						+ "). " + (state == State.OPEN ? "Next probe in " + retryIn + " s." : "A probe is in flight."));
+	}
+
+	/**
+	 * Records the outcome of a permitted call.
+	 *
+	 * @param durationNanos how long the call took
+	 * @param failure       true if the call failed (5xx or I/O error)
+	 * @param cause         a short description of the failure, or null
+	 */
+	public synchronized void record(long durationNanos, boolean failure, String cause) {
+		boolean isSlow = durationNanos >= slowCallNanos;
+		if (failure) {
+			lastFailure = cause;
+		} else if (isSlow) {
+			lastFailure = "slow call of " + TimeUnit.NANOSECONDS.toMillis(durationNanos) + " ms";
+		}
+		if (state == State.HALF_OPEN) {
+			probing = false;
+			if (failure || isSlow) {
+				open("probe failed");
+			} else {
+				reset();
+				state = State.CLOSED;
+				System.out.println("✅ Circuit '" + name + "' closed again, backend recovered");
+			}
+			return;
+		}
+		if (state == State.OPEN) {
+			// a call that started before the circuit opened
+			return;
+		}
+		if (calls == failed.length) {
+			failures -= failed[next] ? 1 : 0;
+			slowCalls -= slow[next] ? 1 : 0;
+		} else {
+			calls++;
+		}
+		failed[next] = failure;
+		slow[next] = isSlow;
+		failures += failure ? 1 : 0;
+		slowCalls += isSlow ? 1 : 0;
+		next = (next + 1) % failed.length;
+
+		if (calls >= minimumCalls) {
+			double failureRate = 100.0 * failures / calls;
+			double slowRate = 100.0 * slowCalls / calls;
+			if (failureRate >= failureRateThreshold) {
+				open(String.format("%.0f%% of the last %d calls failed", failureRate, calls));
+			} else if (slowRate >= slowCallRateThreshold) {
+				open(String.format("%.0f%% of the last %d calls were slow", slowRate, calls));
+			}
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns how many calls were rejected without being sent.
+	 *
+	 * @return the rejected call count
+	 */
+	public synchronized long getRejected() {
+		return rejected;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return state + " (" + failures + " failed, " + slowCalls + " slow of " + calls + " calls, " + rejected
+				+ " rejected)";
+	}
+
+	private void open(String reason) {
+		state = State.OPEN;
+		openedAt = System.nanoTime();
+		reset();
+		System.out.println("❌ Circuit '" + name + "' opened: " + reason + " (last failure: " + lastFailure
+				+ "). Failing fast for " + TimeUnit.NANOSECONDS.toSeconds(openNanos) + " s.");
+	}
+
+	private void reset() {
+		next = 0;
+		calls = 0;
+		failures = 0;
+		slowCalls = 0;
+	}
+}
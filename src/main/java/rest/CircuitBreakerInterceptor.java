@@ -0,0 +1,110 @@
+package rest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.restassured.response.Response;
+import restConfig.AppConfig;
+import restConfig.ConfigManager;
+
+/**
+ * {@link ApiInterceptor} that keeps one {@link CircuitBreaker} per endpoint
+ * family (pim, leave, recruitment, admin, ...; see
+ * {@link RateLimitInterceptor#familyOf(String)}). 5xx responses and I/O errors
+ * count as failures; 4xx responses are the caller's problem and count as
+ * successes. While a family's circuit is open its calls throw a
+ * {@link CircuitOpenException} at once instead of waiting for a timeout.
+ *
+ * Enabled by default; turned off with http.circuit.enabled=false. Settings are
+ * read per family with a fallback to the shared default, e.g.
+ * http.circuit.pim.windowSize before http.circuit.windowSize (see
+ * {@link AppConfig#scopedKey(String, String, String)}):
+ * <ul>
+ * <li>windowSize (default 20) and minimumCalls (default 5)</li>
+ * <li>failureRateThreshold (default 50 percent)</li>
+ * <li>slowCallMillis (default 10000) and slowCallRateThreshold (default 100
+ * percent)</li>
+ * <li>openMillis (default 30000)</li>
+ * </ul>
+ */
+public class CircuitBreakerInterceptor implements ApiInterceptor {
+	private static final String PREFIX = "http.circuit.";
+
+	private final AppConfig config;
+	private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an interceptor with the settings from the current config snapshot.
+	 */
+	public CircuitBreakerInterceptor() {
+		this(ConfigManager.config());
+	}
+
+	/**
+	 * Creates an interceptor with the settings from the given config.
+	 *
+	 * @param config the config holding the http.circuit.* keys
+	 */
+	public CircuitBreakerInterceptor(AppConfig config) {
+		this.config = config;
+	}
+
+	@Override
+	public Response intercept(ApiCall call, Chain chain) {
+		CircuitBreaker breaker = breaker(RateLimitInterceptor.familyOf(call.getPath()));
+		breaker.acquire();
+		long start = System.nanoTime();
+		boolean failure = true;
+		String cause = null;
+		try {
+			Response response = chain.proceed(call);
+			failure = response.getStatusCode() >= 500;
+			cause = failure ? response.getStatusCode() + " from " + call : null;
+			return response;
+		} catch (Exception e) {
+			// also catches the I/O exceptions RestAssured rethrows undeclared
+			cause = e + " from " + call;
+			throw e;
+		} finally {
+			breaker.record(System.nanoTime() - start, failure, cause);
+		}
+	}
+
+	/**
+	 * Returns the breaker of a family, creating it if needed.
+	 *
+	 * @param family the endpoint family, e.g. "pim"
+	 * @return the family's circuit breaker
+	 */
+	public CircuitBreaker breaker(String family) {
+		return breakers.computeIfAbsent(family, this::createBreaker);
+	}
+
+	/**
+	 * Describes the breaker of every family used so far.
+	 *
+	 * @return a map of family to state and window counts
+	 */
+	public Map<String, String> snapshot() {
+		Map<String, String> snapshot = new LinkedHashMap<>();
+		breakers.forEach((family, breaker) -> snapshot.put(family, breaker.toString()));
+		return snapshot;
+	}
+
+	@Override
+	public String toString() {
+		return "CircuitBreakerInterceptor" + snapshot();
+	}
+
+	private CircuitBreaker createBreaker(String family) {
+		return new CircuitBreaker(family, config.getInt(key(family, "windowSize"), 20),
+				config.getInt(key(family, "minimumCalls"), 5), config.getDouble(key(family, "failureRateThreshold"), 50),
+				config.getDouble(key(family, "slowCallRateThreshold"), 100),
+				config.getLong(key(family, "slowCallMillis"), 10000), config.getLong(key(family, "openMillis"), 30000));
+	}
+
+	private String key(String family, String key) {
+		return config.scopedKey(PREFIX, family, key);
+	}
+}
@@ -0,0 +1,33 @@
+package rest;
+
+/**
+ * Thrown instead of sending a request while the {@link CircuitBreaker} of its
+ * endpoint family is open.
+ */
+public class CircuitOpenException extends IllegalStateException {
+	private static final long serialVersionUID = 1L;
+
+	private final String circuit;
+	private final CircuitBreaker.State state;
+
+	/**
+	 * Creates the exception.
+	 *
+	 * @param circuit the name of the open circuit
+	 * @param state   the state that rejected the call
+	 * @param message the description of why the backend is considered down
+	 */
+	public CircuitOpenException(String circuit, CircuitBreaker.State state, String message) {
+		super(message);
+		this.circuit = circuit;
+		this.state = state;
+	}
+
+	public String getCircuit() {
+		return circuit;
+	}
+
+	public CircuitBreaker.State getState() {
+		return state;
+	}
+}
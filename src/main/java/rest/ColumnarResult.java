@@ -0,0 +1,807 @@
+package rest;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Column-oriented holder for list responses, filled directly by
+ * {@link JsonColumnExtractor}. Each requested field becomes one column stored in
+ * the narrowest representation its values allow:
+ * <ul>
+ * <li>{@link IntColumn} / {@link LongColumn} - primitive arrays, no boxing</li>
+ * <li>{@link BooleanColumn} - a bit set</li>
+ * <li>{@link StringColumn} - dictionary-encoded while values repeat (status,
+ * lengthName, ...), plain strings once they turn out to be mostly unique</li>
+ * <li>{@link ObjectColumn} - nested objects, decimals and mixed types</li>
+ * </ul>
+ * The column type is picked from the first non-null value and widened (int to
+ * long, anything to object) if a later value does not fit. Nulls are tracked in
+ * a bitmap per column.
+ *
+ * {@link #list(String)} returns a lazy boxed List view with the same element
+ * types JsonPath would have produced, so existing List based getters keep
+ * working without copying.
+ */
+public class ColumnarResult {
+	/**
+	 * What the extraction path pointed at.
+	 */
+	public enum Kind {
+		MISSING, ARRAY, OBJECT, SCALAR
+	}
+
+	private final String[] names;
+	private final Column[] columns;
+	private Kind kind = Kind.MISSING;
+	private int rows;
+
+	/**
+	 * Creates an empty result with one untyped column per field.
+	 *
+	 * @param names the column (JSON field) names
+	 */
+	public ColumnarResult(String... names) {
+		this.names = names;
+		this.columns = new Column[names.length];
+		for (int i = 0; i < names.length; i++) {
+			columns[i] = new UntypedColumn();
+		}
+	}
+
+	/**
+	 * Returns what the path pointed at: an array, a single object (held as one
+	 * row), a scalar, or nothing (missing or null).
+	 *
+	 * @return the kind of node found at the path
+	 */
+	public Kind kind() {
+		return kind;
+	}
+
+	/**
+	 * Indicates whether the path pointed at an array.
+	 *
+	 * @return true if the path held an array
+	 */
+	public boolean isArray() {
+		return kind == Kind.ARRAY;
+	}
+
+	/**
+	 * Returns the number of rows.
+	 *
+	 * @return the row count
+	 */
+	public int size() {
+		return rows;
+	}
+
+	/**
+	 * Returns the column names in extraction order.
+	 *
+	 * @return the column names
+	 */
+	public List<String> names() {
+		return Arrays.asList(names);
+	}
+
+	/**
+	 * Indicates whether a column with the given name was extracted.
+	 *
+	 * @param name the column name
+	 * @return true if the column exists
+	 */
+	public boolean has(String name) {
+		return indexOf(name) >= 0;
+	}
+
+	/**
+	 * Returns the column with the given name.
+	 *
+	 * @param name the column name
+	 * @return the column
+	 */
+	public Column column(String name) {
+		int index = indexOf(name);
+		if (index < 0) {
+			throw new IllegalArgumentException("Column '" + name + "' was not extracted");
+		}
+		return columns[index];
+	}
+
+	/**
+	 * Returns an int column, e.g. the ids of a holiday or vacancy list.
+	 *
+	 * @param name the column name
+	 * @return the int column
+	 */
+	public IntColumn intColumn(String name) {
+		return typed(name, IntColumn.class);
+	}
+
+	/**
+	 * Returns a long column.
+	 *
+	 * @param name the column name
+	 * @return the long column
+	 */
+	public LongColumn longColumn(String name) {
+		return typed(name, LongColumn.class);
+	}
+
+	/**
+	 * Returns a boolean column, e.g. recurring or isPublished flags.
+	 *
+	 * @param name the column name
+	 * @return the boolean column
+	 */
+	public BooleanColumn booleanColumn(String name) {
+		return typed(name, BooleanColumn.class);
+	}
+
+	/**
+	 * Returns a string column, e.g. names or lengthName.
+	 *
+	 * @param name the column name
+	 * @return the string column
+	 */
+	public StringColumn stringColumn(String name) {
+		return typed(name, StringColumn.class);
+	}
+
+	/**
+	 * Returns a lazy, boxed, read-only view of a column. Elements are created on
+	 * access.
+	 *
+	 * @param name the column name
+	 * @return the column as a List
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> list(String name) {
+		Column column = column(name);
+		return (List<T>) new AbstractList<Object>() {
+			@Override
+			public Object get(int row) {
+				return column.get(checkRow(row));
+			}
+
+			@Override
+			public int size() {
+				return rows;
+			}
+		};
+	}
+
+	/**
+	 * Copies every row into a map keyed by column name, mainly for debugging.
+	 *
+	 * @return the rows as maps
+	 */
+	public List<Map<String, Object>> toRows() {
+		List<Map<String, Object>> result = new ArrayList<>(rows);
+		for (int row = 0; row < rows; row++) {
+			Map<String, Object> map = new LinkedHashMap<>();
+			for (int i = 0; i < names.length; i++) {
+				map.put(names[i], columns[i].get(row));
+			}
+			result.add(map);
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("ColumnarResult[").append(kind).append(", ").append(rows)
+				.append(" rows");
+		for (int i = 0; i < names.length; i++) {
+			text.append(", ").append(names[i]).append(':').append(columns[i].type());
+		}
+		return text.append(']').toString();
+	}
+
+	// -------------------------------filling (used by JsonColumnExtractor)------------------------
+
+	void setKind(Kind kind) {
+		this.kind = kind;
+	}
+
+	int indexOf(String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	int columnCount() {
+		return names.length;
+	}
+
+	void appendNull(int index) {
+		columns[index].appendNull();
+	}
+
+	void appendInt(int index, int value) {
+		Column column = columns[index];
+		if (column instanceof IntColumn) {
+			((IntColumn) column).append(value);
+		} else if (column instanceof LongColumn) {
+			((LongColumn) column).append(value);
+		} else {
+			appendValue(index, value);
+		}
+	}
+
+	void appendLong(int index, long value) {
+		Column column = columns[index];
+		if (column instanceof LongColumn) {
+			((LongColumn) column).append(value);
+		} else if (column instanceof IntColumn) {
+			LongColumn widened = LongColumn.from((IntColumn) column);
+			widened.append(value);
+			columns[index] = widened;
+		} else {
+			appendValue(index, value);
+		}
+	}
+
+	void appendBoolean(int index, boolean value) {
+		Column column = columns[index];
+		if (column instanceof BooleanColumn) {
+			((BooleanColumn) column).append(value);
+		} else {
+			appendValue(index, value);
+		}
+	}
+
+	void appendString(int index, String value) {
+		Column column = columns[index];
+		if (column instanceof StringColumn) {
+			((StringColumn) column).append(value);
+		} else {
+			appendValue(index, value);
+		}
+	}
+
+	/**
+	 * Appends any value, typing an untyped column from it or widening the column
+	 * to an ObjectColumn when the value does not fit.
+	 */
+	void appendValue(int index, Object value) {
+		if (value == null) {
+			appendNull(index);
+			return;
+		}
+		Column column = columns[index];
+		if (column instanceof UntypedColumn) {
+			column = typedFor(value, column.size);
+			columns[index] = column;
+		}
+		if (!column.appendBoxed(value)) {
+			ObjectColumn widened = ObjectColumn.from(column);
+			widened.appendBoxed(value);
+			columns[index] = widened;
+		}
+	}
+
+	void endRow() {
+		rows++;
+	}
+
+	/**
+	 * Replaces every value of a column by what the mapper returns for it (null
+	 * for a null value), refilling the column so it is typed from the new values.
+	 *
+	 * @param name   the column name
+	 * @param mapper maps a value to its replacement
+	 */
+	void mapColumn(String name, UnaryOperator<Object> mapper) {
+		int index = indexOf(name);
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown column '" + name + "'");
+		}
+		Column old = columns[index];
+		columns[index] = new UntypedColumn();
+		for (int row = 0; row < old.size; row++) {
+			appendValue(index, mapper.apply(old.isNull(row) ? null : old.get(row)));
+		}
+	}
+
+	private static Column typedFor(Object value, int leadingNulls) {
+		Class<? extends Column> type = value instanceof Integer ? IntColumn.class
+				: value instanceof Long ? LongColumn.class
+						: value instanceof Boolean ? BooleanColumn.class
+								: value instanceof String ? StringColumn.class : ObjectColumn.class;
+		return emptyColumn(type, leadingNulls);
+	}
+
+	private <C extends Column> C typed(String name, Class<C> type) {
+		Column column = column(name);
+		if (column instanceof UntypedColumn) {
+			// only nulls so far: any typed view is valid
+			column = emptyColumn(type, column.size);
+		}
+		if (!type.isInstance(column)) {
+			throw new IllegalStateException(
+					"Column '" + name + "' is " + column.type() + ", not " + type.getSimpleName());
+		}
+		return type.cast(column);
+	}
+
+	private static Column emptyColumn(Class<? extends Column> type, int nulls) {
+		Column column;
+		if (type == IntColumn.class) {
+			column = new IntColumn();
+		} else if (type == LongColumn.class) {
+			column = new LongColumn();
+		} else if (type == BooleanColumn.class) {
+			column = new BooleanColumn();
+		} else if (type == StringColumn.class) {
+			column = new StringColumn();
+		} else {
+			column = new ObjectColumn();
+		}
+		for (int i = 0; i < nulls; i++) {
+			column.appendNull();
+		}
+		return column;
+	}
+
+	private int checkRow(int row) {
+		if (row < 0 || row >= rows) {
+			throw new IndexOutOfBoundsException("Row " + row + " of " + rows);
+		}
+		return row;
+	}
+
+	// -------------------------------columns------------------------
+
+	/**
+	 * A single column: values of one field across all rows, with a null bitmap.
+	 */
+	public abstract static class Column {
+		final BitSet nulls = new BitSet();
+		int size;
+
+		/**
+		 * Returns the number of values in the column.
+		 *
+		 * @return the value count
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Indicates whether the value in the given row is null or absent.
+		 *
+		 * @param row the row index
+		 * @return true if the value is null
+		 */
+		public boolean isNull(int row) {
+			return nulls.get(row);
+		}
+
+		/**
+		 * Returns the boxed value in the given row, typed as JsonPath would.
+		 *
+		 * @param row the row index
+		 * @return the value, or null
+		 */
+		public abstract Object get(int row);
+
+		/**
+		 * Returns the storage type name, e.g. "int" or "string(dict)".
+		 *
+		 * @return the column type
+		 */
+		public abstract String type();
+
+		void appendNull() {
+			nulls.set(size);
+			size++;
+			growForNull();
+		}
+
+		abstract void growForNull();
+
+		abstract boolean appendBoxed(Object value);
+	}
+
+	/**
+	 * Column of nulls whose type is not known yet.
+	 */
+	static class UntypedColumn extends Column {
+		@Override
+		public Object get(int row) {
+			return null;
+		}
+
+		@Override
+		public String type() {
+			return "null";
+		}
+
+		@Override
+		void growForNull() {
+		}
+
+		@Override
+		boolean appendBoxed(Object value) {
+			return false;
+		}
+	}
+
+	/**
+	 * Column of int values stored in a primitive array.
+	 */
+	public static class IntColumn extends Column {
+		private int[] values = new int[16];
+
+		/**
+		 * Returns the primitive value in the given row (0 if null).
+		 *
+		 * @param row the row index
+		 * @return the value
+		 */
+		public int getInt(int row) {
+			return values[row];
+		}
+
+		/**
+		 * Copies the values into a new array (0 for null rows).
+		 *
+		 * @return the values
+		 */
+		public int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+
+		@Override
+		public Object get(int row) {
+			return isNull(row) ? null : Integer.valueOf(values[row]);
+		}
+
+		@Override
+		public String type() {
+			return "int";
+		}
+
+		void append(int value) {
+			ensure(size + 1);
+			values[size++] = value;
+		}
+
+		@Override
+		void growForNull() {
+			ensure(size);
+		}
+
+		@Override
+		boolean appendBoxed(Object value) {
+			if (value instanceof Integer) {
+				append((Integer) value);
+				return true;
+			}
+			return false;
+		}
+
+		private void ensure(int capacity) {
+			if (capacity > values.length) {
+				values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+			}
+		}
+	}
+
+	/**
+	 * Column of long values stored in a primitive array.
+	 */
+	public static class LongColumn extends Column {
+		private long[] values = new long[16];
+
+		static LongColumn from(IntColumn ints) {
+			LongColumn longs = new LongColumn();
+			for (int row = 0; row < ints.size; row++) {
+				if (ints.isNull(row)) {
+					longs.appendNull();
+				} else {
+					longs.append(ints.getInt(row));
+				}
+			}
+			return longs;
+		}
+
+		/**
+		 * Returns the primitive value in the given row (0 if null).
+		 *
+		 * @param row the row index
+		 * @return the value
+		 */
+		public long getLong(int row) {
+			return values[row];
+		}
+
+		/**
+		 * Copies the values into a new array (0 for null rows).
+		 *
+		 * @return the values
+		 */
+		public long[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+
+		@Override
+		public Object get(int row) {
+			if (isNull(row)) {
+				return null;
+			}
+			long value = values[row];
+			// JsonPath returns the smallest fitting type per value
+			return value == (int) value ? (Object) Integer.valueOf((int) value) : (Object) Long.valueOf(value);
+		}
+
+		@Override
+		public String type() {
+			return "long";
+		}
+
+		void append(long value) {
+			ensure(size + 1);
+			values[size++] = value;
+		}
+
+		@Override
+		void growForNull() {
+			ensure(size);
+		}
+
+		@Override
+		boolean appendBoxed(Object value) {
+			if (value instanceof Integer || value instanceof Long) {
+				append(((Number) value).longValue());
+				return true;
+			}
+			return false;
+		}
+
+		private void ensure(int capacity) {
+			if (capacity > values.length) {
+				values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+			}
+		}
+	}
+
+	/**
+	 * Column of boolean values stored in a bit set.
+	 */
+	public static class BooleanColumn extends Column {
+		private final BitSet values = new BitSet();
+
+		/**
+		 * Returns the primitive value in the given row (false if null).
+		 *
+		 * @param row the row index
+		 * @return the value
+		 */
+		public boolean getBoolean(int row) {
+			return values.get(row);
+		}
+
+		/**
+		 * Counts the rows whose value is true.
+		 *
+		 * @return the number of true values
+		 */
+		public int countTrue() {
+			return values.cardinality();
+		}
+
+		@Override
+		public Object get(int row) {
+			return isNull(row) ? null : Boolean.valueOf(values.get(row));
+		}
+
+		@Override
+		public String type() {
+			return "boolean";
+		}
+
+		void append(boolean value) {
+			values.set(size++, value);
+		}
+
+		@Override
+		void growForNull() {
+		}
+
+		@Override
+		boolean appendBoxed(Object value) {
+			if (value instanceof Boolean) {
+				append((Boolean) value);
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Column of strings. Values are dictionary-encoded (one int code per row plus
+	 * one copy of each distinct string) while they repeat; once the column has
+	 * more than {@value #DICTIONARY_LIMIT} distinct values and most values are
+	 * distinct it switches to plain string storage.
+	 */
+	public static class StringColumn extends Column {
+		static final int DICTIONARY_LIMIT = 256;
+
+		private int[] codes = new int[16];
+		private List<String> dictionary = new ArrayList<>();
+		private Map<String, Integer> index = new HashMap<>();
+		private String[] plain;
+
+		/**
+		 * Returns the string in the given row.
+		 *
+		 * @param row the row index
+		 * @return the value, or null
+		 */
+		public String getString(int row) {
+			if (isNull(row)) {
+				return null;
+			}
+			return plain != null ? plain[row] : dictionary.get(codes[row]);
+		}
+
+		/**
+		 * Indicates whether the column is still dictionary-encoded.
+		 *
+		 * @return true if values are stored as dictionary codes
+		 */
+		public boolean isDictionaryEncoded() {
+			return plain == null;
+		}
+
+		/**
+		 * Returns the distinct values of a dictionary-encoded column, in first-seen
+		 * order.
+		 *
+		 * @return the dictionary, or null once the column stores plain strings
+		 */
+		public List<String> dictionary() {
+			return plain == null ? Collections.unmodifiableList(dictionary) : null;
+		}
+
+		/**
+		 * Returns the dictionary code of the given row, e.g. to group or count rows
+		 * by value without comparing strings.
+		 *
+		 * @param row the row index
+		 * @return the code, or -1 if the row is null or the column is not encoded
+		 */
+		public int code(int row) {
+			return plain != null || isNull(row) ? -1 : codes[row];
+		}
+
+		@Override
+		public Object get(int row) {
+			return getString(row);
+		}
+
+		@Override
+		public String type() {
+			return plain == null ? "string(dict)" : "string";
+		}
+
+		void append(String value) {
+			if (plain != null) {
+				ensurePlain(size + 1);
+				plain[size++] = value;
+				return;
+			}
+			Integer code = index.get(value);
+			if (code == null) {
+				if (dictionary.size() >= DICTIONARY_LIMIT && dictionary.size() * 2 > size) {
+					toPlain();
+					append(value);
+					return;
+				}
+				code = dictionary.size();
+				dictionary.add(value);
+				index.put(value, code);
+			}
+			ensureCodes(size + 1);
+			codes[size++] = code;
+		}
+
+		@Override
+		void growForNull() {
+			if (plain != null) {
+				ensurePlain(size);
+			} else {
+				ensureCodes(size);
+			}
+		}
+
+		@Override
+		boolean appendBoxed(Object value) {
+			if (value instanceof String) {
+				append((String) value);
+				return true;
+			}
+			return false;
+		}
+
+		private void toPlain() {
+			String[] values = new String[Math.max(16, size * 2)];
+			for (int row = 0; row < size; row++) {
+				values[row] = getString(row);
+			}
+			plain = values;
+			codes = null;
+			dictionary = null;
+			index = null;
+		}
+
+		private void ensureCodes(int capacity) {
+			if (capacity > codes.length) {
+				codes = Arrays.copyOf(codes, Math.max(capacity, codes.length * 2));
+			}
+		}
+
+		private void ensurePlain(int capacity) {
+			if (capacity > plain.length) {
+				plain = Arrays.copyOf(plain, Math.max(capacity, plain.length * 2));
+			}
+		}
+	}
+
+	/**
+	 * Column of arbitrary values: nested objects (as LinkedHashMap), arrays,
+	 * decimals, big integers and mixed types.
+	 */
+	public static class ObjectColumn extends Column {
+		private final List<Object> values = new ArrayList<>();
+
+		static ObjectColumn from(Column column) {
+			ObjectColumn objects = new ObjectColumn();
+			for (int row = 0; row < column.size; row++) {
+				if (column.isNull(row)) {
+					objects.appendNull();
+				} else {
+					objects.appendBoxed(column.get(row));
+				}
+			}
+			return objects;
+		}
+
+		@Override
+		public Object get(int row) {
+			return values.get(row);
+		}
+
+		@Override
+		public String type() {
+			return "object";
+		}
+
+		@Override
+		void growForNull() {
+			values.add(null);
+		}
+
+		@Override
+		boolean appendBoxed(Object value) {
+			values.add(value);
+			size++;
+			return true;
+		}
+	}
+}
@@ -8,6 +8,7 @@ import io.restassured.response.Response;
 
 public class CustomResponse {
 	private Response response;
+	private long responseTimeMillis = -1;
 	private List<Map<String, Object>> listResults;
 	private String resultMessage;
 	private Map<String, Object> mapResults;
@@ -250,7 +251,7 @@ public class CustomResponse {
 	}
 
 	public List<Object> getIds() {
-		return ids;
+		return column(ids, "id");
 	}
 
 	public void setIds(List<Object> ids) {
@@ -258,35 +259,35 @@ public class CustomResponse {
 	}
 
 	public List<Object> getNames() {
-		return names;
+		return column(names, "name");
 	}
 
 	public List<Object> getDates() {
-		return dates;
+		return column(dates, "date");
 	}
 
 	public List<Object> getSituationals() {
-		return situationals;
+		return column(situationals, "situational");
 	}
 
 	public List<Object> getDeletes() {
-		return deletes;
+		return column(deletes, "deleted");
 	}
 
 	public List<Object> getProps() {
-		return props;
+		return column(props, "prop");
 	}
 
 	public List<Object> getSizes() {
-		return sizes;
+		return column(sizes, "size");
 	}
 
 	public List<Object> getPins() {
-		return pins;
+		return column(pins, "pin");
 	}
 
 	public List<Object> getCellProperties() {
-		return cellProperties;
+		return column(cellProperties, "cellProperties");
 	}
 
 	public void setId(Object id) {
@@ -294,19 +295,19 @@ public class CustomResponse {
 	}
 
 	public List<Integer> getEmpNumbers() {
-		return empNumbers;
+		return column(empNumbers, "empNumber");
 	}
 
 	public List<String> getFirstNames() {
-		return firstNames;
+		return column(firstNames, "firstName");
 	}
 
 	public List<String> getLastNames() {
-		return lastNames;
+		return column(lastNames, "lastName");
 	}
 
 	public List<String> getEmployeeNumbers() {
-		return employeeNumbers;
+		return column(employeeNumbers, "employeeId");
 	}
 
 	public String getResponseBody() {
@@ -363,6 +364,46 @@ public class CustomResponse {
 		return response.asString().contains(text);
 	}
 
+	/**
+	 * Returns how long the call took as the test saw it, retries and waits
+	 * included.
+	 *
+	 * @return the response time in milliseconds, or -1 if it is not known
+	 */
+	public long getResponseTimeMillis() {
+		return responseTimeMillis >= 0 ? responseTimeMillis : response.getTime();
+	}
+
+	/**
+	 * Sets the time the call took; done by {@link ApiUtil} for every call it
+	 * sends, since cached, hedged and HTTP/2 responses are not timed by
+	 * RestAssured and a cached response is shared by several calls.
+	 *
+	 * @param millis the response time in milliseconds
+	 * @return this response
+	 */
+	CustomResponse setResponseTimeMillis(long millis) {
+		this.responseTimeMillis = millis;
+		return this;
+	}
+
+	/**
+	 * Asserts that the call answered in less than the given time.
+	 *
+	 * @param maxMillis the exclusive limit in milliseconds
+	 * @return this response, so checks can be chained
+	 * @throws AssertionError if the call took maxMillis or longer, or its time
+	 *                        is not known
+	 */
+	public CustomResponse assertResponseTimeBelow(long maxMillis) {
+		long millis = getResponseTimeMillis();
+		if (millis < 0 || millis >= maxMillis) {
+			throw new AssertionError("Expected " + response.getStatusLine() + " within " + maxMillis + " ms but it took "
+					+ (millis < 0 ? "an unknown time" : millis + " ms"));
+		}
+		return this;
+	}
+
 	private String responseBody;
 
 	private List<Integer> empNumbers;
@@ -450,6 +491,7 @@ public class CustomResponse {
 	private List<Object> hiringManagerLastNames;
 	private List<Object> hiringManagerTerminationIds;
 	private List<Object> Titles;
+	private ColumnarResult columns;
 
 	// Add missing fields for employee details
 	private String middleName;
@@ -495,6 +537,25 @@ public class CustomResponse {
 		this.jobTitles = jobTitles;
 	}
 
+	/**
+	 * Constructs a CustomResponse backed by a columnar result. The list getters
+	 * (getIds, getNames, getDates, getStatusList, getEmpNumbers, ...) return lazy
+	 * views of the column named after the JSON field, so values stay unboxed until
+	 * they are read.
+	 *
+	 * @param response   The raw HTTP response
+	 * @param statusCode The HTTP status code
+	 * @param statusLine The HTTP status line
+	 * @param columns    The columns extracted from the response
+	 */
+	public CustomResponse(Response response, int statusCode, String statusLine, ColumnarResult columns) {
+		this.response = response;
+		this.statusCode = statusCode;
+		this.status = statusLine;
+		this.statusLine = statusLine;
+		this.columns = columns;
+	}
+
 	/**
 	 * Basic constructor for CustomResponse with only HTTP status details.
 	 *
@@ -508,24 +569,46 @@ public class CustomResponse {
 		this.statusLine = statusLine2;
 	}
 
+	/**
+	 * Returns the columnar result the list getters read from when the response
+	 * was parsed into columns, for typed, unboxed access such as
+	 * {@code getColumns().intColumn("id").getInt(0)}.
+	 *
+	 * @return the columns, or null if the response was not parsed into columns
+	 */
+	public ColumnarResult getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns the list stored in the field if set, otherwise a lazy view of the
+	 * named column.
+	 */
+	private <T> List<T> column(List<T> field, String name) {
+		if (field != null || columns == null || !columns.has(name)) {
+			return field;
+		}
+		return columns.list(name);
+	}
+
 	public String getStatusLine() {
 		return statusLine;
 	}
 
 	public List<Object> getDescription() {
-		return description;
+		return column(description, "description");
 	}
 
 	public List<Object> getNumOfPositions() {
-		return numOfPositions;
+		return column(numOfPositions, "numOfPositions");
 	}
 
 	public List<Object> getStatusList() {
-		return statusList;
+		return column(statusList, "status");
 	}
 
 	public List<Object> getIsPublished() {
-		return isPublished;
+		return column(isPublished, "isPublished");
 	}
 
 	public List<Object> getJobTitleIds() {
@@ -533,7 +616,7 @@ public class CustomResponse {
 	}
 
 	public List<Object> getJobTitles() {
-		return jobTitles;
+		return column(jobTitles, "jobTitle");
 	}
 
 	public List<Object> getJobDeleted() {
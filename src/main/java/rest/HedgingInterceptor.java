@@ -0,0 +1,280 @@
+package rest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.response.Response;
+import restConfig.AppConfig;
+import restConfig.ConfigManager;
+
+/**
+ * {@link ApiInterceptor} that hedges slow GETs to cut tail latency: if no
+ * response has arrived after the configured percentile of the endpoint's recent
+ * latencies, an identical second request is sent and whichever succeeds first
+ * is returned. The other one is left to finish in the background and its
+ * response is dropped (RestAssured offers no way to abort a request in flight).
+ *
+ * <ul>
+ * <li>Only GETs on the configured paths are hedged, and only once an endpoint
+ * has minSamples latencies; ids in paths are folded, so
+ * /pim/employees/7 and /pim/employees/8 share their statistics.</li>
+ * <li>Hedges are limited to maxExtraRatio of the requests seen, so a slow
+ * server gets at most that much extra load.</li>
+ * </ul>
+ *
+ * Enabled with http.hedge.enabled=true; see
+ * {@link #HedgingInterceptor(AppConfig)} for the keys.
+ */
+public class HedgingInterceptor implements ApiInterceptor {
+	private final double percentile;
+	private final long minDelayNanos;
+	private final int minSamples;
+	private final double maxExtraRatio;
+	private final String[] paths;
+	private final Executor executor;
+	private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong hedged = new AtomicLong();
+	private final AtomicLong hedgesWon = new AtomicLong();
+	private final AtomicLong budgetDenied = new AtomicLong();
+
+	/**
+	 * Creates an interceptor with the settings from the current config snapshot.
+	 */
+	public HedgingInterceptor() {
+		this(ConfigManager.config());
+	}
+
+	/**
+	 * Creates an interceptor from the config keys:
+	 * <ul>
+	 * <li>http.hedge.percentile (default 95) and minDelayMillis (default 20)</li>
+	 * <li>http.hedge.minSamples (default 20)</li>
+	 * <li>http.hedge.maxExtraRatio (default 0.1)</li>
+	 * <li>http.hedge.paths - comma separated path fragments; empty hedges every
+	 * GET</li>
+	 * </ul>
+	 *
+	 * @param config the config holding the http.hedge.* keys
+	 */
+	public HedgingInterceptor(AppConfig config) {
+		this(config.getDouble("http.hedge.percentile", 95),
+				config.getLong("http.hedge.minDelayMillis", 20), config.getInt("http.hedge.minSamples", 20),
+				config.getDouble("http.hedge.maxExtraRatio", 0.1),
+				config.getString("http.hedge.paths", "").split("\\s*,\\s*"), ApiExecutors.shared());
+	}
+
+	/**
+	 * Creates an interceptor.
+	 *
+	 * @param percentile     the latency percentile after which to hedge, e.g. 95
+	 * @param minDelayMillis never hedge earlier than this
+	 * @param minSamples     latencies needed before an endpoint is hedged
+	 * @param maxExtraRatio  hedges allowed per request, e.g. 0.1
+	 * @param paths          path fragments to hedge; none or "" for every GET
+	 * @param executor       runs the two requests
+	 */
+	public HedgingInterceptor(double percentile, long minDelayMillis, int minSamples, double maxExtraRatio,
+			String[] paths, Executor executor) {
+		this.percentile = percentile;
+		this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+		this.minSamples = minSamples;
+		this.maxExtraRatio = maxExtraRatio;
+		this.paths = Arrays.stream(paths).filter(path -> !path.isEmpty()).toArray(String[]::new);
+		this.executor = executor;
+	}
+
+	@Override
+	public Response intercept(ApiCall call, Chain chain) {
+		if (!"GET".equals(call.getMethod()) || !isHedged(call.getPath())) {
+			return chain.proceed(call);
+		}
+		requests.incrementAndGet();
+		LatencyWindow window = windows.computeIfAbsent(call.getPath().replaceAll("/\\d+(?=/|$)", "/{id}"),
+				path -> new LatencyWindow(256));
+		long delay = window.percentile(percentile, minSamples);
+		if (delay < 0) {
+			return timed(call, chain, window);
+		}
+
+		CompletableFuture<Response> winner = new CompletableFuture<>();
+		AtomicInteger legs = new AtomicInteger(1);
+		AtomicInteger failedLegs = new AtomicInteger();
+		CompletableFuture.supplyAsync(() -> timed(call, chain, window), executor)
+				.whenComplete((response, error) -> complete(winner, response, error, legs, failedLegs));
+		try {
+			return winner.get(Math.max(delay, minDelayNanos), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// the primary is slow: hedge if the extra load budget allows
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for " + call, e);
+		} catch (ExecutionException e) {
+			throw sneakyThrow(e.getCause());
+		}
+
+		if (hedged.get() >= maxExtraRatio * requests.get()) {
+			budgetDenied.incrementAndGet();
+			return await(winner);
+		}
+		hedged.incrementAndGet();
+		ApiCall hedge = call.copy();
+		legs.incrementAndGet();
+		CompletableFuture.supplyAsync(() -> timed(hedge, chain, window), executor).whenComplete((response, error) -> {
+			if (complete(winner, response, error, legs, failedLegs)) {
+				hedgesWon.incrementAndGet();
+			}
+		});
+		return await(winner);
+	}
+
+	/**
+	 * Returns a snapshot of the hedging counters.
+	 *
+	 * @return the hedging statistics
+	 */
+	public Stats stats() {
+		return new Stats(requests.get(), hedged.get(), hedgesWon.get(), budgetDenied.get());
+	}
+
+	private boolean isHedged(String path) {
+		if (paths.length == 0) {
+			return true;
+		}
+		for (String fragment : paths) {
+			if (path.contains(fragment)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Sends the call and records its latency, also when it loses the race.
+	private static Response timed(ApiCall call, Chain chain, LatencyWindow window) {
+		long start = System.nanoTime();
+		Response response = chain.proceed(call);
+		window.add(System.nanoTime() - start);
+		return response;
+	}
+
+	// The first success wins; an error only wins once every started leg has failed.
+	private static boolean complete(CompletableFuture<Response> winner, Response response, Throwable error,
+			AtomicInteger legs, AtomicInteger failedLegs) {
+		if (error == null) {
+			return winner.complete(response);
+		}
+		if (failedLegs.incrementAndGet() >= legs.get()) {
+			return winner.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+		}
+		return false;
+	}
+
+	private static Response await(CompletableFuture<Response> winner) {
+		try {
+			return winner.join();
+		} catch (CompletionException e) {
+			throw sneakyThrow(e.getCause());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> RuntimeException sneakyThrow(Throwable error) throws E {
+		throw (E) error;
+	}
+
+	/**
+	 * The most recent latencies of one endpoint.
+	 */
+	private static class LatencyWindow {
+		private final long[] samples;
+		private int next;
+		private int count;
+
+		LatencyWindow(int size) {
+			this.samples = new long[size];
+		}
+
+		synchronized void add(long nanos) {
+			samples[next] = nanos;
+			next = (next + 1) % samples.length;
+			count = Math.min(count + 1, samples.length);
+		}
+
+		/**
+		 * Returns the latency at the percentile, or -1 with fewer than minSamples.
+		 */
+		synchronized long percentile(double percentile, int minSamples) {
+			if (count < Math.max(1, minSamples)) {
+				return -1;
+			}
+			long[] sorted = Arrays.copyOf(samples, count);
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(percentile / 100 * count) - 1;
+			return sorted[Math.max(0, Math.min(count - 1, index))];
+		}
+	}
+
+	/**
+	 * Point-in-time hedging counters.
+	 */
+	public static class Stats {
+		private final long requests;
+		private final long hedged;
+		private final long hedgesWon;
+		private final long budgetDenied;
+
+		Stats(long requests, long hedged, long hedgesWon, long budgetDenied) {
+			this.requests = requests;
+			this.hedged = hedged;
+			this.hedgesWon = hedgesWon;
+			this.budgetDenied = budgetDenied;
+		}
+
+		public long getRequests() {
+			return requests;
+		}
+
+		/**
+		 * Returns the number of hedge requests sent.
+		 *
+		 * @return the hedges sent
+		 */
+		public long getHedged() {
+			return hedged;
+		}
+
+		/**
+		 * Returns the number of hedge requests that answered before the original.
+		 *
+		 * @return the hedges won
+		 */
+		public long getHedgesWon() {
+			return hedgesWon;
+		}
+
+		/**
+		 * Returns how often a hedge was skipped because of maxExtraRatio.
+		 *
+		 * @return the denied hedge count
+		 */
+		public long getBudgetDenied() {
+			return budgetDenied;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("requests=%d, hedged=%d, won=%d, budgetDenied=%d", requests, hedged, hedgesWon,
+					budgetDenied);
+		}
+	}
+}
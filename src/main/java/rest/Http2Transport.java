@@ -0,0 +1,194 @@
+package rest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.QueryableRequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
+
+/**
+ * Sends {@link ApiCall}s with java.net.http.HttpClient instead of RestAssured's
+ * HTTP/1.1 stack. Over HTTPS the client negotiates HTTP/2 with ALPN, so all
+ * concurrent calls to one environment are multiplexed as streams over a single
+ * connection; servers without HTTP/2 are spoken to in HTTP/1.1 automatically.
+ * Over plain HTTP an h2c upgrade is offered and ignored by servers that do not
+ * support it.
+ *
+ * Method, URL, headers, cookies, query parameters and body are read from the
+ * call's RestAssured specification, and the answer is turned back into a
+ * RestAssured Response, so ApiUtil parsers and tests see no difference. HTTP/2
+ * has no reason phrases; the status line is rebuilt from the status code, e.g.
+ * "HTTP/2 200 OK".
+ *
+ * Selected with http.transport=http2 in config.properties (default:
+ * restassured).
+ */
+public class Http2Transport {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	// headers java.net.http sets itself and rejects when given
+	private static final Set<String> RESTRICTED = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+	static {
+		RESTRICTED.add("Connection");
+		RESTRICTED.add("Content-Length");
+		RESTRICTED.add("Expect");
+		RESTRICTED.add("Host");
+		RESTRICTED.add("Upgrade");
+	}
+
+	private final HttpClient client;
+	private final Duration requestTimeout;
+
+	/**
+	 * Creates a transport.
+	 *
+	 * @param version        the preferred protocol; HTTP_2 falls back to HTTP/1.1
+	 * @param sslContext     the TLS context, e.g. one trusting every certificate
+	 * @param connectTimeout the connect timeout
+	 * @param requestTimeout the time allowed for a whole request
+	 */
+	public Http2Transport(HttpClient.Version version, SSLContext sslContext, Duration connectTimeout,
+			Duration requestTimeout) {
+		this.client = HttpClient.newBuilder().version(version).sslContext(sslContext).connectTimeout(connectTimeout)
+				.followRedirects(HttpClient.Redirect.NORMAL).build();
+		this.requestTimeout = requestTimeout;
+	}
+
+	/**
+	 * Sends the call and waits for the response.
+	 *
+	 * @param call the call to send
+	 * @return the response as a RestAssured Response
+	 */
+	public Response send(ApiCall call) {
+		HttpRequest request = toRequest(call);
+		try {
+			return toResponse(client.send(request, HttpResponse.BodyHandlers.ofByteArray()));
+		} catch (IOException e) {
+			// surface I/O errors unwrapped, like RestAssured, so retries recognise them
+			throw sneakyThrow(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while sending " + call, e);
+		}
+	}
+
+	/**
+	 * Returns the underlying client, e.g. to check the negotiated version.
+	 *
+	 * @return the java.net.http client
+	 */
+	public HttpClient getClient() {
+		return client;
+	}
+
+	private HttpRequest toRequest(ApiCall call) {
+		QueryableRequestSpecification spec = SpecificationQuerier.query(call.getSpec());
+		HttpRequest.Builder builder = HttpRequest.newBuilder(uri(call.getUrl(), spec.getQueryParams()))
+				.timeout(requestTimeout);
+
+		boolean accept = false;
+		for (Header header : spec.getHeaders()) {
+			if (!RESTRICTED.contains(header.getName())) {
+				builder.header(header.getName(), header.getValue());
+				accept |= header.getName().equalsIgnoreCase("Accept");
+			}
+		}
+		if (!accept) {
+			builder.header("Accept", "*/*");
+		}
+		if (spec.getCookies().exist()) {
+			StringBuilder cookies = new StringBuilder();
+			for (Cookie cookie : spec.getCookies()) {
+				cookies.append(cookies.length() == 0 ? "" : "; ").append(cookie.getName()).append('=')
+						.append(cookie.getValue());
+			}
+			builder.header("Cookie", cookies.toString());
+		}
+
+		byte[] body = body(spec.getBody());
+		if (body != null && spec.getContentType() == null && !spec.getHeaders().hasHeaderWithName("Content-Type")) {
+			builder.header("Content-Type", "application/json");
+		}
+		return builder.method(call.getMethod(),
+				body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body))
+				.build();
+	}
+
+	private static URI uri(String url, Map<String, String> queryParams) {
+		if (queryParams == null || queryParams.isEmpty()) {
+			return URI.create(url);
+		}
+		StringBuilder uri = new StringBuilder(url).append(url.indexOf('?') < 0 ? '?' : '&');
+		queryParams.forEach((name, value) -> uri.append(encode(name)).append('=').append(encode(value)).append('&'));
+		uri.setLength(uri.length() - 1);
+		return URI.create(uri.toString());
+	}
+
+	private static String encode(Object value) {
+		return URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8);
+	}
+
+	private static byte[] body(Object body) {
+		if (body == null) {
+			return null;
+		}
+		if (body instanceof byte[]) {
+			return (byte[]) body;
+		}
+		if (body instanceof String) {
+			return ((String) body).getBytes(StandardCharsets.UTF_8);
+		}
+		try {
+			return MAPPER.writeValueAsBytes(body);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Request body cannot be serialised to JSON", e);
+		}
+	}
+
+	private static Response toResponse(HttpResponse<byte[]> response) {
+		List<Header> headers = new ArrayList<>();
+		response.headers().map().forEach((name, values) -> {
+			// HTTP/2 pseudo-headers such as :status are not real headers
+			if (!name.startsWith(":")) {
+				values.forEach(value -> headers.add(new Header(name, value)));
+			}
+		});
+		String protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+		String reason = EnglishReasonPhraseCatalog.INSTANCE.getReason(response.statusCode(), Locale.ENGLISH);
+		ResponseBuilder builder = new ResponseBuilder().setStatusCode(response.statusCode())
+				.setStatusLine(protocol + " " + response.statusCode() + (reason == null ? "" : " " + reason))
+				.setHeaders(new Headers(headers)).setBody(response.body());
+		response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+		return builder.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> RuntimeException sneakyThrow(Throwable error) throws E {
+		throw (E) error;
+	}
+}
@@ -0,0 +1,111 @@
+package rest;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.restassured.http.ContentType;
+import io.restassured.http.Cookie;
+import io.restassured.response.Response;
+
+/**
+ * Browserless OrangeHRM login. Performs the same two requests the login page
+ * does:
+ * <ol>
+ * <li>GET /web/index.php/auth/login - starts a session (orangehrm cookie) and
+ * renders the CSRF token into the page</li>
+ * <li>POST /web/index.php/auth/validate with _token, username and password -
+ * authenticates the session and redirects to the dashboard</li>
+ * </ol>
+ * and returns the authenticated orangehrm session cookie. Both requests reuse
+ * the pooled {@link SharedHttpClient} connection, so a login takes two round
+ * trips instead of a browser start-up.
+ */
+public class HttpAuthenticator {
+	public static final String LOGIN_PATH = "/web/index.php/auth/login";
+	public static final String VALIDATE_PATH = "/web/index.php/auth/validate";
+	public static final String SESSION_COOKIE = "orangehrm";
+
+	// <auth-login :token="&quot;abc...&quot;" ...> or a plain hidden _token input
+	private static final Pattern[] TOKEN_PATTERNS = {
+			Pattern.compile(":token=\"(?:&quot;|\\\\?\")([^&\"\\\\]+)(?:&quot;|\\\\?\")\""),
+			Pattern.compile("name=\"_token\"[^>]*value=\"([^\"]+)\""),
+			Pattern.compile("value=\"([^\"]+)\"[^>]*name=\"_token\"") };
+
+	private final String baseUrl;
+	private final SharedHttpClient client;
+
+	/**
+	 * Creates an authenticator for the given environment.
+	 *
+	 * @param baseUrl the OrangeHRM base URL
+	 */
+	public HttpAuthenticator(String baseUrl) {
+		this.baseUrl = baseUrl;
+		this.client = SharedHttpClient.forBaseUrl(baseUrl);
+	}
+
+	/**
+	 * Logs in with the given credentials.
+	 *
+	 * @param username the OrangeHRM username
+	 * @param password the OrangeHRM password
+	 * @return the authenticated orangehrm session cookie value
+	 * @throws IllegalStateException if the login page has no token or the
+	 *                               credentials are rejected
+	 */
+	public String login(String username, String password) {
+		return authenticate(username, password).getValue();
+	}
+
+	/**
+	 * Logs in with the given credentials and returns the full session cookie,
+	 * including the expiry the server sent with it (if any).
+	 *
+	 * @param username the OrangeHRM username
+	 * @param password the OrangeHRM password
+	 * @return the authenticated orangehrm session cookie
+	 * @throws IllegalStateException if the login page has no token or the
+	 *                               credentials are rejected
+	 */
+	public Cookie authenticate(String username, String password) {
+		Response page = client.given().redirects().follow(false).get(baseUrl + LOGIN_PATH).then().extract()
+				.response();
+		Cookie session = page.getDetailedCookie(SESSION_COOKIE);
+		if (page.getStatusCode() != 200 || session == null) {
+			throw new IllegalStateException(
+					"Login page did not start a session. Status: " + page.getStatusCode() + ", cookie: " + session);
+		}
+		String token = extractToken(page.asString());
+
+		Response validate = client.given().redirects().follow(false).cookie(SESSION_COOKIE, session.getValue())
+				.contentType(ContentType.URLENC.withCharset("UTF-8")).formParam("_token", token)
+				.formParam("username", username).formParam("password", password).post(baseUrl + VALIDATE_PATH)
+				.then().extract().response();
+
+		String location = validate.getHeader("Location");
+		if (validate.getStatusCode() / 100 != 3 || location == null || location.contains(LOGIN_PATH)) {
+			throw new IllegalStateException("Login rejected. Status: " + validate.getStatusCode() + ", redirect: "
+					+ location);
+		}
+		// OrangeHRM regenerates the session id on login
+		Cookie authenticated = validate.getDetailedCookie(SESSION_COOKIE);
+		return authenticated != null ? authenticated : session;
+	}
+
+	/**
+	 * Extracts the CSRF token from the login page markup.
+	 *
+	 * @param html the login page
+	 * @return the token
+	 * @throws IllegalStateException if no token is found
+	 */
+	static String extractToken(String html) {
+		for (Pattern pattern : TOKEN_PATTERNS) {
+			Matcher matcher = pattern.matcher(html);
+			if (matcher.find()) {
+				return matcher.group(1);
+			}
+		}
+		throw new IllegalStateException("CSRF token not found on the login page");
+	}
+}
@@ -0,0 +1,201 @@
+package rest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.restassured.response.Response;
+
+/**
+ * Single-pass column extractor for list responses such as
+ * {"data":[{"id":1,"name":"..."},...]}.
+ *
+ * The body is read once with Jackson's streaming parser: the parser walks down
+ * the dotted path (e.g. "data" or "data.headers"), then for every element of the
+ * array copies only the requested fields into one column per field and skips
+ * everything else. No per-row maps are built, unlike
+ * {@code jsonPath.getList("data")}, and the body is not re-walked for every
+ * column, unlike repeated {@code jsonPath.getList("data.x")} calls.
+ *
+ * The columns are stored in a {@link ColumnarResult}, scalars unboxed. Values
+ * read back keep JsonPath's types: Integer/Long/BigInteger for whole numbers,
+ * Float (or Double when out of float range) for decimals, and LinkedHashMap /
+ * ArrayList for nested objects and arrays. A field missing from an element is
+ * recorded as null so the columns stay aligned.
+ */
+public class JsonColumnExtractor {
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	/**
+	 * Extracts the given fields from every element of the array at the path.
+	 *
+	 * @param response the raw HTTP response
+	 * @param path     dotted path to the array, e.g. "data"
+	 * @param fields   the element fields to collect
+	 * @return the extracted columns
+	 */
+	public static ColumnarResult extract(Response response, String path, String... fields) {
+		return extract(response.asByteArray(), path, fields);
+	}
+
+	/**
+	 * Extracts the given fields from every element of the array at the path.
+	 *
+	 * @param body   the JSON body
+	 * @param path   dotted path to the array, e.g. "data"
+	 * @param fields the element fields to collect
+	 * @return the extracted columns
+	 */
+	public static ColumnarResult extract(byte[] body, String path, String... fields) {
+		ColumnarResult columns = new ColumnarResult(fields);
+		if (body == null || body.length == 0) {
+			return columns;
+		}
+		try (JsonParser parser = FACTORY.createParser(body)) {
+			if (parser.nextToken() == null || !moveTo(parser, path.split("\\."), 0)) {
+				return columns;
+			}
+			JsonToken token = parser.currentToken();
+			if (token == JsonToken.START_ARRAY) {
+				columns.setKind(ColumnarResult.Kind.ARRAY);
+				boolean[] seen = new boolean[columns.columnCount()];
+				while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+					if (token == JsonToken.START_OBJECT) {
+						readRow(parser, columns, seen);
+					} else {
+						parser.skipChildren();
+						endRow(columns, seen);
+					}
+				}
+			} else if (token == JsonToken.START_OBJECT) {
+				columns.setKind(ColumnarResult.Kind.OBJECT);
+				readRow(parser, columns, new boolean[columns.columnCount()]);
+			} else if (token != JsonToken.VALUE_NULL) {
+				columns.setKind(ColumnarResult.Kind.SCALAR);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to parse response body at '" + path + "'", e);
+		}
+		return columns;
+	}
+
+	/**
+	 * Advances the parser to the value at path[index..], which must start at the
+	 * current token. Returns false if the path does not exist.
+	 */
+	private static boolean moveTo(JsonParser parser, String[] path, int index) throws IOException {
+		if (index == path.length) {
+			return true;
+		}
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			return false;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			if (name.equals(path[index])) {
+				return moveTo(parser, path, index + 1);
+			}
+			parser.skipChildren();
+		}
+		return false;
+	}
+
+	/**
+	 * Reads one object (the parser is on its START_OBJECT) into the next row,
+	 * appending scalars straight into the primitive columns.
+	 */
+	private static void readRow(JsonParser parser, ColumnarResult columns, boolean[] seen) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			int column = columns.indexOf(parser.getCurrentName());
+			JsonToken token = parser.nextToken();
+			if (column < 0 || seen[column]) {
+				parser.skipChildren();
+				continue;
+			}
+			seen[column] = true;
+			switch (token) {
+			case VALUE_NUMBER_INT:
+				JsonParser.NumberType type = parser.getNumberType();
+				if (type == JsonParser.NumberType.INT) {
+					columns.appendInt(column, parser.getIntValue());
+				} else if (type == JsonParser.NumberType.LONG) {
+					columns.appendLong(column, parser.getLongValue());
+				} else {
+					columns.appendValue(column, parser.getNumberValue());
+				}
+				break;
+			case VALUE_TRUE:
+				columns.appendBoolean(column, true);
+				break;
+			case VALUE_FALSE:
+				columns.appendBoolean(column, false);
+				break;
+			case VALUE_STRING:
+				columns.appendString(column, parser.getText());
+				break;
+			case VALUE_NULL:
+				columns.appendNull(column);
+				break;
+			default:
+				columns.appendValue(column, readValue(parser));
+			}
+		}
+		endRow(columns, seen);
+	}
+
+	/**
+	 * Pads the fields the element did not have with nulls and closes the row.
+	 */
+	private static void endRow(ColumnarResult columns, boolean[] seen) {
+		for (int i = 0; i < seen.length; i++) {
+			if (!seen[i]) {
+				columns.appendNull(i);
+			}
+			seen[i] = false;
+		}
+		columns.endRow();
+	}
+
+	/**
+	 * Reads the value at the current token, materialising nested structures.
+	 */
+	static Object readValue(JsonParser parser) throws IOException {
+		switch (parser.currentToken()) {
+		case START_OBJECT:
+			Map<String, Object> map = new LinkedHashMap<>();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = parser.getCurrentName();
+				parser.nextToken();
+				map.put(name, readValue(parser));
+			}
+			return map;
+		case START_ARRAY:
+			List<Object> list = new ArrayList<>();
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				list.add(readValue(parser));
+			}
+			return list;
+		case VALUE_STRING:
+			return parser.getText();
+		case VALUE_NUMBER_INT:
+			return parser.getNumberValue();
+		case VALUE_NUMBER_FLOAT:
+			double value = parser.getDoubleValue();
+			float narrowed = (float) value;
+			return Float.isInfinite(narrowed) ? (Object) value : (Object) narrowed;
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		default:
+			return null;
+		}
+	}
+}
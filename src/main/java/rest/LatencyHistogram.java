@@ -0,0 +1,178 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with the bucket layout of HdrHistogram: values
+ * (in microseconds) are counted in log2 buckets, each split into 128 linear
+ * sub-buckets, so every recorded value keeps two significant digits (its
+ * bucket ends less than 1/64 above it) from 1 microsecond up to the highest
+ * trackable value, at a fixed memory cost of a few KB.
+ *
+ * {@link #record(long)} is a few shifts and one atomic increment, safe to call
+ * from any number of threads; readers see a consistent-enough view without
+ * stopping writers.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_COUNT = 128;
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+	private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 6;
+	private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+	private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+
+	private final long highestTrackableMicros;
+	private final AtomicLongArray counts;
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalMicros = new LongAdder();
+	private final AtomicLong maxMicros = new AtomicLong();
+	private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+
+	/**
+	 * Creates a histogram tracking latencies up to one hour.
+	 */
+	public LatencyHistogram() {
+		this(TimeUnit.HOURS.toMicros(1));
+	}
+
+	/**
+	 * Creates a histogram; larger values are counted as the highest trackable
+	 * one.
+	 *
+	 * @param highestTrackableMicros the highest latency to tell apart, in
+	 *                               microseconds
+	 */
+	public LatencyHistogram(long highestTrackableMicros) {
+		this.highestTrackableMicros = Math.max(SUB_BUCKET_COUNT, highestTrackableMicros);
+		int buckets = 1;
+		for (long smallestUntrackable = SUB_BUCKET_COUNT; smallestUntrackable <= this.highestTrackableMicros; smallestUntrackable <<= 1) {
+			buckets++;
+		}
+		this.counts = new AtomicLongArray((buckets + 1) * SUB_BUCKET_HALF_COUNT);
+	}
+
+	/**
+	 * Records one latency.
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		long micros = Math.min(highestTrackableMicros, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+		counts.incrementAndGet(indexOf(micros));
+		totalCount.increment();
+		totalMicros.add(micros);
+		maxMicros.accumulateAndGet(micros, Math::max);
+		minMicros.accumulateAndGet(micros, Math::min);
+	}
+
+	/**
+	 * Returns the number of recorded latencies.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	/**
+	 * Returns the highest recorded latency.
+	 *
+	 * @return the maximum in microseconds, 0 when empty
+	 */
+	public long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	/**
+	 * Returns the lowest recorded latency.
+	 *
+	 * @return the minimum in microseconds, 0 when empty
+	 */
+	public long getMinMicros() {
+		long min = minMicros.get();
+		return min == Long.MAX_VALUE ? 0 : min;
+	}
+
+	/**
+	 * Returns the mean of the recorded latencies.
+	 *
+	 * @return the mean in microseconds, 0 when empty
+	 */
+	public double getMeanMicros() {
+		long count = totalCount.sum();
+		return count == 0 ? 0 : (double) totalMicros.sum() / count;
+	}
+
+	/**
+	 * Returns the latency at or below which the given percentage of recorded
+	 * latencies fall, e.g. 99.9 for the p999.
+	 *
+	 * @param percentile the percentile, 0 to 100
+	 * @return the latency in microseconds (the upper end of its bucket, capped at
+	 *         the maximum), 0 when empty
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long[] snapshot = new long[counts.length()];
+		long total = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			seen += snapshot[i];
+			if (seen >= target) {
+				return Math.min(highestEquivalentValue(i), getMaxMicros());
+			}
+		}
+		return getMaxMicros();
+	}
+
+	/**
+	 * Returns the non-empty buckets, e.g. to store the full distribution and
+	 * merge or plot it later.
+	 *
+	 * @return pairs of {bucket upper bound in microseconds, count}
+	 */
+	public List<long[]> buckets() {
+		List<long[]> buckets = new ArrayList<>();
+		for (int i = 0; i < counts.length(); i++) {
+			long count = counts.get(i);
+			if (count > 0) {
+				buckets.add(new long[] { highestEquivalentValue(i), count });
+			}
+		}
+		return buckets;
+	}
+
+	private static int indexOf(long value) {
+		int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+		int subBucketIndex = (int) (value >>> bucketIndex);
+		return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+	}
+
+	private static long highestEquivalentValue(int index) {
+		int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+		long subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+		if (bucketIndex < 0) {
+			subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+			bucketIndex = 0;
+		}
+		return ((subBucketIndex + 1) << bucketIndex) - 1;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count=%d, p50=%.1fms, p90=%.1fms, p99=%.1fms, p999=%.1fms, max=%.1fms", getCount(),
+				getValueAtPercentile(50) / 1000.0, getValueAtPercentile(90) / 1000.0,
+				getValueAtPercentile(99) / 1000.0, getValueAtPercentile(99.9) / 1000.0, getMaxMicros() / 1000.0);
+	}
+}
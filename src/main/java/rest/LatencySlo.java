@@ -0,0 +1,105 @@
+package rest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import restConfig.ConfigManager;
+
+/**
+ * Suite-level latency and throughput objectives, checked against the
+ * {@link MetricsInterceptor} summary of a run so that a slower build fails like
+ * a broken one.
+ *
+ * The SLO file (slo.file in config.properties) is JSON with limits per
+ * "METHOD endpoint-template" and a default for endpoints without an entry:
+ *
+ * <pre>
+ * {
+ *   "default":   { "p95": 3000, "p99": 5000 },
+ *   "endpoints": {
+ *     "GET /api/v2/leave/holidays":       { "p95": 1500, "p99": 3000 },
+ *     "GET /api/v2/pim/employees/{id}":   { "p99": 2000, "minThroughput": 5, "minSamples": 20 }
+ *   }
+ * }
+ * </pre>
+ *
+ * p95 and p99 are upper limits in milliseconds; minThroughput is a lower limit
+ * in requests per second. An endpoint with fewer than minSamples requests
+ * (default 1) is not checked, since its percentiles mean little.
+ */
+public class LatencySlo {
+	private static final String[] PERCENTILES = { "p95", "p99" };
+
+	private final Map<String, JsonNode> endpoints = new LinkedHashMap<>();
+	private final JsonNode defaults;
+
+	/**
+	 * Creates the objectives from a parsed SLO document.
+	 *
+	 * @param document the SLO JSON, see the class comment
+	 */
+	public LatencySlo(JsonNode document) {
+		this.defaults = document.path("default");
+		Iterator<Map.Entry<String, JsonNode>> fields = document.path("endpoints").fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			endpoints.put(field.getKey(), field.getValue());
+		}
+	}
+
+	/**
+	 * Loads the objectives from the file named by slo.file (default
+	 * src/main/resources/slo.json).
+	 *
+	 * @return the objectives
+	 * @throws IllegalStateException if the file cannot be read
+	 */
+	public static LatencySlo fromConfig() {
+		File file = new File(ConfigManager.config().getString("slo.file", "src/main/resources/slo.json"));
+		try {
+			return new LatencySlo(new ObjectMapper().readTree(file));
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read the SLO file " + file, e);
+		}
+	}
+
+	/**
+	 * Checks a run against the objectives.
+	 *
+	 * @param summary the per-endpoint summary, see
+	 *                {@link MetricsInterceptor#summary()}
+	 * @return one message per broken objective; empty when all are met
+	 */
+	public List<String> check(List<Map<String, Object>> summary) {
+		List<String> violations = new ArrayList<>();
+		for (Map<String, Object> row : summary) {
+			String endpoint = row.get("method") + " " + row.get("endpoint");
+			JsonNode limits = endpoints.getOrDefault(endpoint, defaults);
+			long count = ((Number) row.get("count")).longValue();
+			if (count == 0 || count < limits.path("minSamples").asLong(1)) {
+				continue;
+			}
+			for (String percentile : PERCENTILES) {
+				double actual = ((Number) row.get(percentile)).doubleValue();
+				if (limits.has(percentile) && actual > limits.get(percentile).asDouble()) {
+					violations.add(String.format("%s: %s %.1f ms exceeds the SLO of %s ms (%d requests)", endpoint,
+							percentile, actual, limits.get(percentile).asText(), count));
+				}
+			}
+			double throughput = ((Number) row.get("throughput")).doubleValue();
+			if (limits.has("minThroughput") && throughput < limits.get("minThroughput").asDouble()) {
+				violations.add(String.format("%s: throughput %.2f/s is below the SLO of %s/s (%d requests)", endpoint,
+						throughput, limits.get("minThroughput").asText(), count));
+			}
+		}
+		return violations;
+	}
+}
@@ -0,0 +1,394 @@
+package rest;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.restassured.http.Cookie;
+import restConfig.AppConfig;
+import restConfig.ConfigManager;
+import restStub.StubServer;
+
+/**
+ * Replays the ApiUtil scenarios of RestAssured_TestCases ({@link LoadScenario})
+ * as a load test against the base.url of the selected config, in one of two
+ * models:
+ * <ul>
+ * <li>open (load.model=open): scenario iterations arrive at load.rate per
+ * second whatever the response times, as users of a public site would; at most
+ * load.maxInFlight run at once</li>
+ * <li>closed (load.model=closed): load.users virtual users each run one
+ * iteration after the other, with load.thinkTimeMillis in between, or paced to
+ * load.rate iterations per second in total when load.rate is above 0</li>
+ * </ul>
+ * The rate (open) or the number of users (closed) rises linearly over
+ * load.rampUpSeconds, holds for load.steadySeconds and falls over
+ * load.rampDownSeconds.
+ *
+ * Latencies are corrected for coordinated omission: every iteration is timed
+ * from the moment it was scheduled to start, not from when a free thread got
+ * round to it, so a stalled server shows up in the percentiles instead of
+ * silently lowering the request rate. The service time (from the actual start)
+ * is reported next to it. Percentiles cover the steady phase; throughput is
+ * given for the whole run and for the steady phase.
+ *
+ * Run from Maven with the "load" profile, e.g.
+ *
+ * <pre>
+ * mvn -Pload test -DskipTests -Dload.rate=20 -Dload.steadySeconds=300 -Dbase.url=https://qa.example.com/orangehrm
+ * </pre>
+ *
+ * The session is taken from load.cookie, the {@link SessionStore} or a fresh
+ * {@link HttpAuthenticator} login, in that order. The report is printed and
+ * written as JSON to load.report.file, together with the per-endpoint
+ * histograms of the {@link MetricsInterceptor}. The run fails when more than
+ * load.maxErrorPercent of the iterations fail or, with load.checkSlo, when an
+ * endpoint misses its {@link LatencySlo}.
+ */
+public class LoadRunner {
+	private final ApiUtil api;
+	private final String cookie;
+	private final List<LoadScenario> scenarios;
+	private final boolean open;
+	private final double rate;
+	private final int users;
+	private final long thinkTimeNanos;
+	private final int maxInFlight;
+	private final long rampUpNanos;
+	private final long steadyNanos;
+	private final long rampDownNanos;
+
+	private final Map<String, Stats> stats = new LinkedHashMap<>();
+	private final Stats total = new Stats();
+	private final AtomicLong maxScheduleLagNanos = new AtomicLong();
+	private long startNanos;
+
+	/**
+	 * Creates a load run from the load.* keys of the config.
+	 *
+	 * @param config the config snapshot
+	 * @param api    the API client for the environment under test
+	 * @param cookie the session cookie
+	 */
+	public LoadRunner(AppConfig config, ApiUtil api, String cookie) {
+		this.api = api;
+		this.cookie = cookie;
+		this.scenarios = LoadScenario.parseMix(config.getString("load.scenarios", "holidays"),
+				LoadScenario.catalogue());
+		this.open = !"closed".equalsIgnoreCase(config.getString("load.model", "open"));
+		this.rate = config.getDouble("load.rate", 10);
+		this.users = config.getInt("load.users", 10);
+		this.thinkTimeNanos = TimeUnit.MILLISECONDS.toNanos(config.getLong("load.thinkTimeMillis", 0));
+		this.maxInFlight = config.getInt("load.maxInFlight", 200);
+		this.rampUpNanos = TimeUnit.SECONDS.toNanos(config.getLong("load.rampUpSeconds", 10));
+		this.steadyNanos = TimeUnit.SECONDS.toNanos(config.getLong("load.steadySeconds", 60));
+		this.rampDownNanos = TimeUnit.SECONDS.toNanos(config.getLong("load.rampDownSeconds", 10));
+		if (open && rate <= 0) {
+			throw new IllegalArgumentException("The open load model needs load.rate above 0");
+		}
+		for (LoadScenario scenario : scenarios) {
+			stats.put(scenario.getName(), new Stats());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		// returns normally rather than calling System.exit: under exec:java the run
+		// shares the Maven JVM, which still has to report the build result
+		StubServer server = StubServer.startFromConfig();
+		try {
+			run(ConfigManager.config());
+		} finally {
+			if (server != null) {
+				server.close();
+			}
+		}
+	}
+
+	private static void run(AppConfig config) throws InterruptedException, IOException {
+		ApiUtil api = new ApiUtil();
+		LoadRunner runner = new LoadRunner(config, api, session(config, api));
+		System.out.println("Load run against " + api.getBaseUrl() + ": " + runner.describe());
+		runner.run();
+
+		Map<String, Object> report = runner.report();
+		runner.print(report);
+		String file = config.getString("load.report.file", "TestReport/load-report.json");
+		runner.writeJson(new File(file), report);
+		System.out.println("✅ Load report written to " + file);
+
+		List<String> failures = new ArrayList<>();
+		double errorPercent = runner.total.errorPercent();
+		double maxErrorPercent = config.getDouble("load.maxErrorPercent", 5);
+		if (errorPercent > maxErrorPercent) {
+			failures.add(String.format("%.2f%% of iterations failed (limit %.2f%%)", errorPercent, maxErrorPercent));
+		}
+		if (config.getBoolean("load.checkSlo", true)) {
+			failures.addAll(LatencySlo.fromConfig().check(MetricsInterceptor.shared().summary()));
+		}
+		if (!failures.isEmpty()) {
+			failures.forEach(failure -> System.out.println("❌ " + failure));
+			throw new IllegalStateException("Load run failed: " + String.join("; ", failures));
+		}
+	}
+
+	/**
+	 * Runs the load profile and waits for the last iteration to finish.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void run() throws InterruptedException {
+		ExecutorService executor = ApiExecutors.newExecutor("load-worker");
+		startNanos = System.nanoTime();
+		if (open) {
+			runOpen(executor);
+		} else {
+			runClosed(executor);
+		}
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.MINUTES);
+	}
+
+	/**
+	 * Describes the load profile, e.g. for the console.
+	 *
+	 * @return the model, rate or users, phases and scenario mix
+	 */
+	public String describe() {
+		return String.format("%s model, %s, ramp-up %ds, steady %ds, ramp-down %ds, mix %s",
+				open ? "open" : "closed",
+				open ? rate + " iterations/s"
+						: users + " users" + (rate > 0 ? " paced to " + rate + " iterations/s" : ""),
+				TimeUnit.NANOSECONDS.toSeconds(rampUpNanos), TimeUnit.NANOSECONDS.toSeconds(steadyNanos),
+				TimeUnit.NANOSECONDS.toSeconds(rampDownNanos), scenarios);
+	}
+
+	// Open model: iteration n is scheduled when the integral of the rate profile
+	// reaches n; a full maxInFlight window delays the start, not the schedule.
+	private void runOpen(ExecutorService executor) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(maxInFlight);
+		for (long n = 1;; n++) {
+			long offset = arrivalOffset(n);
+			if (offset < 0) {
+				return;
+			}
+			long intended = startNanos + offset;
+			parkUntil(intended);
+			inFlight.acquire();
+			LoadScenario scenario = LoadScenario.pick(scenarios);
+			executor.execute(() -> {
+				try {
+					iteration(scenario, intended);
+				} finally {
+					inFlight.release();
+				}
+			});
+		}
+	}
+
+	// Closed model: user i joins at rampUp * i / users and leaves during the
+	// ramp-down in reverse order.
+	private void runClosed(ExecutorService executor) {
+		long paceNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * users / rate) : 0;
+		for (int i = 0; i < users; i++) {
+			long joinNanos = startNanos + rampUpNanos * i / users;
+			long leaveNanos = startNanos + rampUpNanos + steadyNanos + rampDownNanos * (users - i) / users;
+			executor.execute(() -> {
+				long intended = joinNanos;
+				while (intended < leaveNanos) {
+					parkUntil(intended);
+					iteration(LoadScenario.pick(scenarios), intended);
+					// without pacing there is no schedule to fall behind: the next iteration is
+					// due a think time after this one ends
+					intended = paceNanos > 0 ? intended + paceNanos : System.nanoTime() + thinkTimeNanos;
+				}
+			});
+		}
+	}
+
+	// Runs one iteration and records it against its scheduled start.
+	private void iteration(LoadScenario scenario, long intended) {
+		long start = System.nanoTime();
+		maxScheduleLagNanos.accumulateAndGet(start - intended, Math::max);
+		boolean ok = false;
+		try {
+			ok = scenario.run(api, cookie);
+		} catch (Exception e) {
+			Stats scenarioStats = stats.get(scenario.getName());
+			if (scenarioStats.exceptions.sum() == 0) {
+				System.out.println("⚠️ Load scenario " + scenario.getName() + " failed: " + e);
+			}
+			scenarioStats.exceptions.increment();
+		}
+		long end = System.nanoTime();
+		long offset = intended - startNanos;
+		boolean steady = offset >= rampUpNanos && offset < rampUpNanos + steadyNanos;
+		stats.get(scenario.getName()).record(intended, start, end, ok, steady);
+		total.record(intended, start, end, ok, steady);
+	}
+
+	/**
+	 * Returns when the n-th arrival of the open model is due, relative to the
+	 * start of the run: the time at which the integral of the rate (rising
+	 * linearly, holding, falling linearly) reaches n.
+	 *
+	 * @param n the arrival number, from 1
+	 * @return the offset in nanoseconds, or -1 after the end of the run
+	 */
+	long arrivalOffset(long n) {
+		double up = rampUpNanos / 1e9;
+		double steady = steadyNanos / 1e9;
+		double down = rampDownNanos / 1e9;
+		double afterUp = rate * up / 2;
+		double afterSteady = afterUp + rate * steady;
+		double seconds;
+		if (n <= afterUp) {
+			seconds = Math.sqrt(2 * up * n / rate);
+		} else if (n <= afterSteady) {
+			seconds = up + (n - afterUp) / rate;
+		} else if (n <= afterSteady + rate * down / 2) {
+			double remaining = 1 - 2 * (n - afterSteady) / (rate * down);
+			seconds = up + steady + down * (1 - Math.sqrt(Math.max(0, remaining)));
+		} else {
+			return -1;
+		}
+		return (long) (seconds * 1e9);
+	}
+
+	private static void parkUntil(long nanoTime) {
+		for (long wait = nanoTime - System.nanoTime(); wait > 0; wait = nanoTime - System.nanoTime()) {
+			LockSupport.parkNanos(wait);
+		}
+	}
+
+	/**
+	 * Builds the report: settings, totals, one entry per scenario and the
+	 * per-endpoint latencies of the {@link MetricsInterceptor}. Latencies are in
+	 * milliseconds.
+	 *
+	 * @return the report as nested maps
+	 */
+	public Map<String, Object> report() {
+		double seconds = (total.lastEndNanos.get() - startNanos) / 1e9;
+		double steadySeconds = steadyNanos / 1e9;
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("generatedAt", Instant.now().toString());
+		report.put("baseUrl", api.getBaseUrl());
+		report.put("profile", describe());
+		report.put("maxScheduleLagMillis", maxScheduleLagNanos.get() / 1e6);
+		report.put("total", total.summary(seconds, steadySeconds));
+		Map<String, Object> perScenario = new LinkedHashMap<>();
+		stats.forEach((name, scenarioStats) -> perScenario.put(name, scenarioStats.summary(seconds, steadySeconds)));
+		report.put("scenarios", perScenario);
+		report.put("endpoints", MetricsInterceptor.shared().summary());
+		return report;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void print(Map<String, Object> report) {
+		System.out.printf("%-22s %8s %7s %9s %9s | corrected p50/p90/p99/p999/max ms      | service p50/p99 ms%n",
+				"scenario", "count", "errors", "iter/s", "steady/s");
+		Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) report.get("scenarios"));
+		rows.put("TOTAL", report.get("total"));
+		rows.forEach((name, value) -> {
+			Map<String, Object> row = (Map<String, Object>) value;
+			System.out.printf("%-22s %8d %7d %9.2f %9.2f | %s/%s/%s/%s/%s | %s/%s%n", name, row.get("count"),
+					row.get("errors"), row.get("throughput"), row.get("steadyThroughput"), row.get("p50"),
+					row.get("p90"), row.get("p99"), row.get("p999"), row.get("max"), row.get("serviceP50"),
+					row.get("serviceP99"));
+		});
+		System.out.printf("Largest start delay behind schedule: %.1f ms%n", maxScheduleLagNanos.get() / 1e6);
+	}
+
+	private void writeJson(File file, Map<String, Object> report) throws IOException {
+		if (file.getAbsoluteFile().getParentFile() != null) {
+			file.getAbsoluteFile().getParentFile().mkdirs();
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+	}
+
+	// load.cookie, then a stored session, then a fresh login
+	private static String session(AppConfig config, ApiUtil api) {
+		String cookie = config.getString("load.cookie", "");
+		if (!cookie.isEmpty()) {
+			return cookie;
+		}
+		SessionStore sessions = SessionStore.fromConfig();
+		cookie = sessions.reuse(api.getBaseUrl(), api.getUsername());
+		if (cookie != null) {
+			return cookie;
+		}
+		Cookie session = new HttpAuthenticator(api.getBaseUrl()).authenticate(api.getUsername(), api.getPassword());
+		sessions.save(api.getBaseUrl(), api.getUsername(), session.getValue(), session.getExpiryDate());
+		return session.getValue();
+	}
+
+	/**
+	 * Counters and latency histograms of one scenario, or of all of them.
+	 */
+	private static class Stats {
+		private final LatencyHistogram corrected = new LatencyHistogram();
+		private final LatencyHistogram service = new LatencyHistogram();
+		private final LongAdder count = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder exceptions = new LongAdder();
+		private final LongAdder steadyCount = new LongAdder();
+		private final AtomicLong lastEndNanos = new AtomicLong();
+
+		void record(long intended, long start, long end, boolean ok, boolean steady) {
+			count.increment();
+			if (!ok) {
+				errors.increment();
+			}
+			lastEndNanos.accumulateAndGet(end, Math::max);
+			if (steady) {
+				steadyCount.increment();
+				corrected.record(end - intended);
+				service.record(end - start);
+			}
+		}
+
+		double errorPercent() {
+			long iterations = count.sum();
+			return iterations == 0 ? 0 : 100.0 * errors.sum() / iterations;
+		}
+
+		Map<String, Object> summary(double seconds, double steadySeconds) {
+			Map<String, Object> summary = new LinkedHashMap<>();
+			summary.put("count", count.sum());
+			summary.put("errors", errors.sum());
+			summary.put("exceptions", exceptions.sum());
+			summary.put("throughput", round(seconds > 0 ? count.sum() / seconds : 0));
+			summary.put("steadyThroughput", round(steadySeconds > 0 ? steadyCount.sum() / steadySeconds : 0));
+			summary.put("p50", millis(corrected.getValueAtPercentile(50)));
+			summary.put("p90", millis(corrected.getValueAtPercentile(90)));
+			summary.put("p99", millis(corrected.getValueAtPercentile(99)));
+			summary.put("p999", millis(corrected.getValueAtPercentile(99.9)));
+			summary.put("max", millis(corrected.getMaxMicros()));
+			summary.put("serviceP50", millis(service.getValueAtPercentile(50)));
+			summary.put("serviceP99", millis(service.getValueAtPercentile(99)));
+			summary.put("bucketsMicros", corrected.buckets());
+			return summary;
+		}
+
+		private static double millis(long micros) {
+			return round(micros / 1000.0);
+		}
+
+		private static double round(double value) {
+			return Math.round(value * 100) / 100.0;
+		}
+	}
+}
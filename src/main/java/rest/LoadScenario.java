@@ -0,0 +1,200 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * One unit of work of the {@link LoadRunner}: the ApiUtil calls of a
+ * RestAssured_TestCases scenario, sent with the load run's session. An
+ * iteration succeeds when every call answered with a status below 400.
+ *
+ * The built-in scenarios are listed in {@link #catalogue()}.
+ * {@link #parseMix(String, Map)} turns a load.scenarios setting such as
+ * "holidays:40,leaveTypes:20,employeeCreate:5" into a weighted mix.
+ */
+public class LoadScenario {
+	private static final String HOLIDAYS = "/web/index.php/api/v2/leave/holidays?fromDate=2025-01-01&toDate=2025-12-31";
+	private static final String EMPLOYEES = "/web/index.php/api/v2/pim/employees";
+	private static final String CANDIDATES = "/web/index.php/api/v2/recruitment/candidates";
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	/**
+	 * The calls of one scenario iteration.
+	 */
+	public interface Step {
+		/**
+		 * Runs one iteration.
+		 *
+		 * @param api    the API client
+		 * @param cookie the session cookie
+		 * @return the response of the first failed call, or of the last call
+		 */
+		CustomResponse run(ApiUtil api, String cookie);
+	}
+
+	private final String name;
+	private final int weight;
+	private final Step step;
+
+	/**
+	 * Creates a scenario.
+	 *
+	 * @param name   the name used in load.scenarios and the report
+	 * @param weight the relative share of iterations, e.g. 40
+	 * @param step   the calls of one iteration
+	 */
+	public LoadScenario(String name, int weight, Step step) {
+		this.name = name;
+		this.weight = weight;
+		this.step = step;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Runs one iteration.
+	 *
+	 * @param api    the API client
+	 * @param cookie the session cookie
+	 * @return true if every call answered with a status below 400
+	 */
+	public boolean run(ApiUtil api, String cookie) {
+		CustomResponse response = step.run(api, cookie);
+		return response != null && response.getStatusCode() < 400;
+	}
+
+	/**
+	 * Returns the scenarios of RestAssured_TestCases that make sense under load,
+	 * by name:
+	 * <ul>
+	 * <li>holidays, leave - the 2025 holiday list (GetHolidayData,
+	 * GetLeaveData)</li>
+	 * <li>empCount, leaveTypes, usageReport, vacancies, jobTitles, workweek - the
+	 * other reads</li>
+	 * <li>employeeCreate - POST of a uniquely named employee</li>
+	 * <li>employeeUpdate - PUT of the personal details of one of the first 50
+	 * employees</li>
+	 * <li>candidateCreateDelete - POST of a candidate followed by its DELETE, so
+	 * the run leaves no candidates behind</li>
+	 * </ul>
+	 *
+	 * @return the steps by scenario name, in the order above
+	 */
+	public static Map<String, Step> catalogue() {
+		Map<String, Step> steps = new LinkedHashMap<>();
+		steps.put("holidays", (a, c) -> a.GetHolidayData(HOLIDAYS, c, null));
+		steps.put("leave", (a, c) -> a.GetLeaveData(HOLIDAYS, c, null));
+		steps.put("empCount", (a, c) -> a.GetEmpCount(EMPLOYEES + "/count", c, null));
+		steps.put("leaveTypes", (a, c) -> a.GetLeaveType("/web/index.php/api/v2/leave/leave-types?limit=0", c, null));
+		steps.put("usageReport", (a, c) -> a
+				.GetUsageReport("/web/index.php/api/v2/leave/reports?name=my_leave_entitlements_and_usage", c, null));
+		steps.put("vacancies", (a, c) -> a.GetVacancies(
+				"/web/index.php/api/v2/recruitment/vacancies?limit=50&offset=0&sortField=vacancy.name&sortOrder=ASC&model=detailed",
+				c, null));
+		steps.put("jobTitles", (a, c) -> a.GetJobTitles("/web/index.php/api/v2/admin/job-titles?limit=0", c, null));
+		steps.put("workweek", (a, c) -> a.GetLeaveWorkWeek("/web/index.php/api/v2/leave/workweek?model=indexed", c));
+		steps.put("employeeCreate", (a, c) -> a.PostEmployee(EMPLOYEES, c,
+				BulkCreator.employee("Load" + unique(), null, "User" + unique())));
+
+		List<Integer> empNumbers = new ArrayList<>();
+		steps.put("employeeUpdate", (a, c) -> {
+			synchronized (empNumbers) {
+				if (empNumbers.isEmpty()) {
+					empNumbers.addAll(a.paginate(EMPLOYEES, c, 50,
+							(page, row) -> page.intColumn("empNumber").getInt(row), "empNumber").stream().limit(50)
+							.collect(Collectors.toList()));
+				}
+				if (empNumbers.isEmpty()) {
+					throw new IllegalStateException("No employees found for the employeeUpdate scenario");
+				}
+			}
+			int empNumber = empNumbers.get(ThreadLocalRandom.current().nextInt(empNumbers.size()));
+			return a.putEmployeeDetails(EMPLOYEES + "/" + empNumber + "/personal-details", c,
+					"{\"firstName\":\"Load" + unique() + "\",\"middleName\":\"\",\"lastName\":\"User\"}");
+		});
+		steps.put("candidateCreateDelete", (a, c) -> {
+			String id = unique();
+			CustomResponse created = a.PostCandidate(CANDIDATES, c,
+					BulkCreator.candidate("Load" + id, "Candidate", "load" + id + "@example.com"));
+			if (created.getStatusCode() >= 400) {
+				return created;
+			}
+			int candidateId = created.getResponse().jsonPath().getInt("data.id");
+			return a.DeleterecruitmentCad(CANDIDATES, c, "{\"ids\":[" + candidateId + "]}");
+		});
+		return steps;
+	}
+
+	/**
+	 * Builds a weighted mix from a comma separated list of name:weight pairs; a
+	 * name without weight counts 1.
+	 *
+	 * @param mix   the mix, e.g. "holidays:40,leaveTypes:20,employeeCreate:5"
+	 * @param steps the available scenarios by name
+	 * @return the scenarios of the mix
+	 * @throws IllegalArgumentException for an unknown name or a bad weight
+	 */
+	public static List<LoadScenario> parseMix(String mix, Map<String, Step> steps) {
+		List<LoadScenario> scenarios = new ArrayList<>();
+		for (String entry : mix.split("\\s*,\\s*")) {
+			if (entry.isEmpty()) {
+				continue;
+			}
+			String[] parts = entry.split("\\s*:\\s*");
+			Step step = steps.get(parts[0]);
+			if (step == null) {
+				throw new IllegalArgumentException("Unknown load scenario '" + parts[0] + "', expected one of "
+						+ steps.keySet());
+			}
+			int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+			if (weight > 0) {
+				scenarios.add(new LoadScenario(parts[0], weight, step));
+			}
+		}
+		if (scenarios.isEmpty()) {
+			throw new IllegalArgumentException("The load scenario mix '" + mix + "' selects no scenario");
+		}
+		return scenarios;
+	}
+
+	/**
+	 * Picks a scenario at random, in proportion to the weights.
+	 *
+	 * @param scenarios the mix
+	 * @return the chosen scenario
+	 */
+	public static LoadScenario pick(List<LoadScenario> scenarios) {
+		int total = 0;
+		for (LoadScenario scenario : scenarios) {
+			total += scenario.weight;
+		}
+		int ticket = ThreadLocalRandom.current().nextInt(total);
+		for (LoadScenario scenario : scenarios) {
+			ticket -= scenario.weight;
+			if (ticket < 0) {
+				return scenario;
+			}
+		}
+		return scenarios.get(scenarios.size() - 1);
+	}
+
+	@Override
+	public String toString() {
+		return name + ":" + weight;
+	}
+
+	private static String unique() {
+		return Long.toString(System.currentTimeMillis(), 36) + SEQUENCE.incrementAndGet();
+	}
+}
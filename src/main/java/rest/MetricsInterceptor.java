@@ -0,0 +1,177 @@
+package rest;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.restassured.response.Response;
+
+/**
+ * {@link ApiInterceptor} that records the latency of every request sent, in a
+ * {@link LatencyHistogram} per HTTP method and endpoint template. Ids in paths
+ * are folded and the context path is cut, so
+ * /web/index.php/api/v2/pim/employees/7 and .../employees/8 are both counted as
+ * "GET /api/v2/pim/employees/{id}".
+ *
+ * It sits at the end of the chain, so each attempt of a retried or hedged call
+ * is timed on its own and cache hits are not counted. One instance
+ * ({@link #shared()}) collects the requests of every {@link SharedHttpClient};
+ * the suite listener dumps it with {@link #writeJson(File)} at the end of the
+ * run. Enabled with http.metrics.enabled (default true).
+ */
+public class MetricsInterceptor implements ApiInterceptor {
+	private static final MetricsInterceptor SHARED = new MetricsInterceptor();
+	private static final Pattern ID_SEGMENT = Pattern
+			.compile("/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(?=/|$)");
+
+	private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the instance shared by every client.
+	 *
+	 * @return the shared metrics interceptor
+	 */
+	public static MetricsInterceptor shared() {
+		return SHARED;
+	}
+
+	@Override
+	public Response intercept(ApiCall call, Chain chain) {
+		Endpoint endpoint = endpoints.computeIfAbsent(call.getMethod() + " " + templateOf(call.getPath()),
+				key -> new Endpoint());
+		long start = System.nanoTime();
+		boolean error = true;
+		try {
+			Response response = chain.proceed(call);
+			error = response.getStatusCode() >= 500;
+			return response;
+		} finally {
+			// I/O errors are timed too: a timeout is the slowest answer of all
+			endpoint.record(start, System.nanoTime());
+			if (error) {
+				endpoint.errors.increment();
+			}
+		}
+	}
+
+	/**
+	 * Turns a request path into its endpoint template: the part before /api/ is
+	 * cut and numeric or UUID segments become {id}.
+	 *
+	 * @param path the request path, e.g. "/web/index.php/api/v2/pim/employees/7"
+	 * @return the template, e.g. "/api/v2/pim/employees/{id}"
+	 */
+	public static String templateOf(String path) {
+		int api = path.indexOf("/api/");
+		return ID_SEGMENT.matcher(api < 0 ? path : path.substring(api)).replaceAll("/{id}");
+	}
+
+	/**
+	 * Returns the histogram of one endpoint.
+	 *
+	 * @param method   the HTTP method, e.g. "GET"
+	 * @param template the endpoint template, see {@link #templateOf(String)}
+	 * @return the histogram, or null if the endpoint was not called
+	 */
+	public LatencyHistogram histogram(String method, String template) {
+		Endpoint endpoint = endpoints.get(method + " " + template);
+		return endpoint == null ? null : endpoint.histogram;
+	}
+
+	/**
+	 * Summarises every endpoint called so far, sorted by method and template.
+	 * Latencies are in milliseconds.
+	 *
+	 * @return one map per endpoint with method, endpoint, count, errors,
+	 *         throughput (requests per second between its first and last
+	 *         request), mean, p50, p90, p95, p99, p999 and max
+	 */
+	public List<Map<String, Object>> summary() {
+		List<Map<String, Object>> summary = new ArrayList<>();
+		new TreeMap<>(endpoints).forEach((key, endpoint) -> summary.add(endpoint.summary(key)));
+		return summary;
+	}
+
+	/**
+	 * Writes the summary of every endpoint, together with its non-empty buckets
+	 * (upper bound in microseconds and count), as JSON.
+	 *
+	 * @param file the file to write; parent directories are created
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeJson(File file) throws IOException {
+		List<Map<String, Object>> rows = new ArrayList<>();
+		new TreeMap<>(endpoints).forEach((key, endpoint) -> {
+			Map<String, Object> row = endpoint.summary(key);
+			row.put("bucketsMicros", endpoint.histogram.buckets());
+			rows.add(row);
+		});
+		Map<String, Object> document = new LinkedHashMap<>();
+		document.put("generatedAt", Instant.now().toString());
+		document.put("unit", "ms");
+		document.put("endpoints", rows);
+		if (file.getAbsoluteFile().getParentFile() != null) {
+			file.getAbsoluteFile().getParentFile().mkdirs();
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, document);
+	}
+
+	/**
+	 * Forgets every recorded latency.
+	 */
+	public void reset() {
+		endpoints.clear();
+	}
+
+	/**
+	 * The histogram, error count and active period of one method and endpoint
+	 * template.
+	 */
+	private static class Endpoint {
+		private final LatencyHistogram histogram = new LatencyHistogram();
+		private final LongAdder errors = new LongAdder();
+		private final AtomicLong firstStartNanos = new AtomicLong(Long.MAX_VALUE);
+		private final AtomicLong lastEndNanos = new AtomicLong(Long.MIN_VALUE);
+
+		void record(long startNanos, long endNanos) {
+			histogram.record(endNanos - startNanos);
+			firstStartNanos.accumulateAndGet(startNanos, Math::min);
+			lastEndNanos.accumulateAndGet(endNanos, Math::max);
+		}
+
+		Map<String, Object> summary(String key) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			int space = key.indexOf(' ');
+			row.put("method", key.substring(0, space));
+			row.put("endpoint", key.substring(space + 1));
+			row.put("count", histogram.getCount());
+			row.put("errors", errors.sum());
+			double seconds = (lastEndNanos.get() - firstStartNanos.get()) / 1e9;
+			row.put("throughput", seconds > 0 ? Math.round(histogram.getCount() / seconds * 100) / 100.0 : 0.0);
+			row.put("mean", millis(histogram.getMeanMicros()));
+			row.put("p50", millis(histogram.getValueAtPercentile(50)));
+			row.put("p90", millis(histogram.getValueAtPercentile(90)));
+			row.put("p95", millis(histogram.getValueAtPercentile(95)));
+			row.put("p99", millis(histogram.getValueAtPercentile(99)));
+			row.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+			row.put("max", millis(histogram.getMaxMicros()));
+			return row;
+		}
+
+		private static double millis(double micros) {
+			return Math.round(micros / 10.0) / 100.0;
+		}
+	}
+}
@@ -0,0 +1,235 @@
+package rest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.restassured.response.Response;
+
+/**
+ * Lazy iterator over a limit/offset paginated list endpoint such as
+ * employment-statuses, job-titles, vacancies or pim/employees.
+ *
+ * Pages are fetched one at a time through the {@link SharedHttpClient} chain
+ * and read with {@link JsonColumnExtractor}, so only the requested fields of one
+ * page are held in memory. While the rows of a page are consumed, the next page
+ * is already being fetched on {@link ApiExecutors#shared()}, overlapping network
+ * latency with processing. Iteration ends after a short page, or once
+ * meta.total rows have been read; a consumer that stops early (findFirst,
+ * limit, anyMatch, ...) leaves at most one prefetched page unread.
+ *
+ * <pre>
+ * Stream&lt;Integer&gt; ids = new Paginator&lt;&gt;(baseUrl, "/web/index.php/api/v2/admin/job-titles", cookieValue, 50,
+ * 		(page, row) -&gt; page.intColumn("id").getInt(row), "id").stream();
+ * </pre>
+ *
+ * @param <T> the row type produced by the {@link RowMapper}
+ */
+public class Paginator<T> implements Iterable<T> {
+	private final String baseUrl;
+	private final String path;
+	private final Map<String, String> query;
+	private final String cookieValue;
+	private final int pageSize;
+	private final RowMapper<T> mapper;
+	private final String[] fields;
+
+	/**
+	 * Turns one row of a fetched page into a typed value.
+	 *
+	 * @param <T> the row type
+	 */
+	@FunctionalInterface
+	public interface RowMapper<T> {
+		/**
+		 * Maps a row.
+		 *
+		 * @param page the columns of the current page
+		 * @param row  the row index within the page
+		 * @return the typed row
+		 */
+		T map(ColumnarResult page, int row);
+	}
+
+	/**
+	 * Creates a paginator. Any limit and offset already in the endpoint are
+	 * replaced; other query parameters (sortField, sortOrder, ...) are kept. They
+	 * are decoded here, as RestAssured encodes every query parameter it sends.
+	 *
+	 * @param baseUrl     the OrangeHRM base URL
+	 * @param endpoint    the list endpoint, e.g.
+	 *                    "/web/index.php/api/v2/admin/employment-statuses"
+	 * @param cookieValue the session cookie
+	 * @param pageSize    the number of rows requested per page
+	 * @param mapper      turns a row into a typed value
+	 * @param fields      the fields of each element in "data" to read
+	 */
+	public Paginator(String baseUrl, String endpoint, String cookieValue, int pageSize, RowMapper<T> mapper,
+			String... fields) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+		}
+		this.baseUrl = baseUrl;
+		this.cookieValue = cookieValue;
+		this.pageSize = pageSize;
+		this.mapper = mapper;
+		this.fields = fields;
+		this.query = new LinkedHashMap<>();
+		int start = endpoint.indexOf('?');
+		this.path = start < 0 ? endpoint : endpoint.substring(0, start);
+		if (start >= 0) {
+			for (String pair : endpoint.substring(start + 1).split("&")) {
+				int equals = pair.indexOf('=');
+				String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+				if (!name.isEmpty() && !name.equals("limit") && !name.equals("offset")) {
+					query.put(name, equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a mapper producing one LinkedHashMap per row, keyed by field name.
+	 *
+	 * @return the map row mapper
+	 */
+	public static RowMapper<Map<String, Object>> asMaps() {
+		return (page, row) -> {
+			Map<String, Object> map = new LinkedHashMap<>();
+			for (String name : page.names()) {
+				map.put(name, page.column(name).get(row));
+			}
+			return map;
+		};
+	}
+
+	/**
+	 * Returns a lazy sequential stream over all rows. Closing the stream (e.g.
+	 * with try-with-resources) cancels a pending prefetch. A row is null if the
+	 * {@link RowMapper} maps it to null.
+	 *
+	 * @return the rows of every page, in order
+	 */
+	public Stream<T> stream() {
+		PageIterator iterator = new PageIterator();
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+				.onClose(iterator::cancel);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new PageIterator();
+	}
+
+	private Page fetch(int offset) {
+		Map<String, Object> params = new LinkedHashMap<>(query);
+		params.put("limit", pageSize);
+		params.put("offset", offset);
+		SharedHttpClient client = SharedHttpClient.forBaseUrl(baseUrl);
+		Response response = client.execute(new ApiCall("GET", baseUrl + path, cookieValue,
+				client.given().cookie("orangehrm", cookieValue).queryParams(params),
+				spec -> spec.get(baseUrl + path).then().extract().response()).query(params));
+		if (response.getStatusCode() != 200) {
+			throw new IllegalStateException("Failed to fetch " + path + " at offset " + offset + ". Status code: "
+					+ response.getStatusCode());
+		}
+		byte[] body = response.asByteArray();
+		ColumnarResult meta = JsonColumnExtractor.extract(body, "meta", "total");
+		Object total = meta.size() == 1 ? meta.column("total").get(0) : null;
+		return new Page(offset, JsonColumnExtractor.extract(body, "data", fields),
+				total instanceof Number ? ((Number) total).longValue() : -1);
+	}
+
+	private static class Page {
+		private final int offset;
+		private final ColumnarResult rows;
+		private final long total;
+
+		Page(int offset, ColumnarResult rows, long total) {
+			this.offset = offset;
+			this.rows = rows;
+			this.total = total;
+		}
+	}
+
+	/**
+	 * Walks the pages, keeping at most the current page and one prefetched page.
+	 */
+	private class PageIterator implements Iterator<T> {
+		private Page page;
+		private int row;
+		private CompletableFuture<Page> next = CompletableFuture.completedFuture(null);
+		private boolean started;
+		private boolean finished;
+
+		@Override
+		public boolean hasNext() {
+			while (!finished && (page == null || row >= page.rows.size())) {
+				advance();
+			}
+			return !finished;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return mapper.map(page.rows, row++);
+		}
+
+		private void advance() {
+			if (!started) {
+				started = true;
+				page = fetch(0);
+			} else if (isLast(page)) {
+				finished = true;
+				page = null;
+				return;
+			} else {
+				page = await(next);
+			}
+			row = 0;
+			if (isLast(page)) {
+				if (page.rows.size() == 0) {
+					finished = true;
+					page = null;
+				}
+				return;
+			}
+			int offset = page.offset + pageSize;
+			next = ApiExecutors.supply(() -> fetch(offset));
+		}
+
+		private boolean isLast(Page page) {
+			return page.rows.size() < pageSize || (page.total >= 0 && page.offset + pageSize >= page.total);
+		}
+
+		private Page await(CompletableFuture<Page> future) {
+			try {
+				return future.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+		}
+
+		void cancel() {
+			finished = true;
+			page = null;
+			next.cancel(false);
+		}
+	}
+}
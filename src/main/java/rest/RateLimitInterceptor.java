@@ -0,0 +1,152 @@
+package rest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.restassured.response.Response;
+import restConfig.AppConfig;
+import restConfig.ConfigManager;
+
+/**
+ * {@link ApiInterceptor} that paces requests per endpoint family (pim, leave,
+ * recruitment, admin, ...; the segment after /api/v2/). Each family has its
+ * own {@link TokenBucket} for the request rate and its own
+ * {@link AdaptiveLimiter} for the number of requests in flight, so a 429 storm
+ * on leave does not slow down pim.
+ *
+ * Enabled with http.rateLimit.enabled=true. Settings are read per family with
+ * a fallback to the shared default, e.g. http.rateLimit.pim.permitsPerSecond
+ * before http.rateLimit.permitsPerSecond (see
+ * {@link AppConfig#scopedKey(String, String, String)}):
+ * <ul>
+ * <li>permitsPerSecond (default 0 = unlimited) and burst (default 10)</li>
+ * <li>initialConcurrency (default 8), minConcurrency (1), maxConcurrency
+ * (64)</li>
+ * <li>backoffRatio (default 0.5) and latencyTolerance (default 2.0, against
+ * the baseline of each endpoint template, see {@link AdaptiveLimiter})</li>
+ * </ul>
+ * The current limits can be read at runtime with {@link #getLimit(String)} or
+ * {@link #snapshot()}.
+ */
+public class RateLimitInterceptor implements ApiInterceptor {
+	private static final String PREFIX = "http.rateLimit.";
+	private static final String API_ROOT = "/api/v2/";
+
+	private final AppConfig config;
+	private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an interceptor with the limits from the current config snapshot.
+	 */
+	public RateLimitInterceptor() {
+		this(ConfigManager.config());
+	}
+
+	/**
+	 * Creates an interceptor with the limits from the given config.
+	 *
+	 * @param config the config holding the http.rateLimit.* keys
+	 */
+	public RateLimitInterceptor(AppConfig config) {
+		this.config = config;
+	}
+
+	@Override
+	public Response intercept(ApiCall call, Chain chain) {
+		Family family = families.computeIfAbsent(familyOf(call.getPath()), this::createFamily);
+		family.bucket.acquire();
+		long start = family.limiter.acquire();
+		boolean overloaded = true;
+		try {
+			Response response = chain.proceed(call);
+			overloaded = response.getStatusCode() == 429 || response.getStatusCode() == 503;
+			return response;
+		} finally {
+			family.limiter.release(call.getMethod() + " " + MetricsInterceptor.templateOf(call.getPath()), start,
+					overloaded);
+		}
+	}
+
+	/**
+	 * Returns the endpoint family of a path, e.g. "pim" for
+	 * /web/index.php/api/v2/pim/employees.
+	 *
+	 * @param path the request path
+	 * @return the family, or "default" for paths outside /api/v2/
+	 */
+	public static String familyOf(String path) {
+		int start = path.indexOf(API_ROOT);
+		if (start < 0) {
+			return "default";
+		}
+		start += API_ROOT.length();
+		int end = path.indexOf('/', start);
+		return end < 0 ? path.substring(start) : path.substring(start, end);
+	}
+
+	/**
+	 * Returns the current concurrency limit of a family.
+	 *
+	 * @param family the endpoint family, e.g. "pim"
+	 * @return the limit, or -1 if the family has not been used yet
+	 */
+	public int getLimit(String family) {
+		Family state = families.get(family);
+		return state == null ? -1 : state.limiter.getLimit();
+	}
+
+	/**
+	 * Returns the limiter of a family, creating it if needed.
+	 *
+	 * @param family the endpoint family, e.g. "pim"
+	 * @return the family's concurrency limiter
+	 */
+	public AdaptiveLimiter limiter(String family) {
+		return families.computeIfAbsent(family, this::createFamily).limiter;
+	}
+
+	/**
+	 * Describes every family used so far: its concurrency limit, requests in
+	 * flight and rate.
+	 *
+	 * @return a map of family to e.g. "limit=12, inFlight=3, rate=20.0/s"
+	 */
+	public Map<String, String> snapshot() {
+		Map<String, String> snapshot = new LinkedHashMap<>();
+		families.forEach((name, family) -> snapshot.put(name,
+				"limit=" + family.limiter.getLimit() + ", inFlight=" + family.limiter.getInFlight() + ", rate="
+						+ (family.bucket.getPermitsPerSecond() > 0 ? family.bucket.getPermitsPerSecond() + "/s"
+								: "unlimited")));
+		return snapshot;
+	}
+
+	@Override
+	public String toString() {
+		return "RateLimitInterceptor" + snapshot();
+	}
+
+	private Family createFamily(String family) {
+		return new Family(
+				new TokenBucket(config.getDouble(key(family, "permitsPerSecond"), 0),
+						config.getInt(key(family, "burst"), 10)),
+				new AdaptiveLimiter(config.getInt(key(family, "initialConcurrency"), 8),
+						config.getInt(key(family, "minConcurrency"), 1), config.getInt(key(family, "maxConcurrency"), 64),
+						config.getDouble(key(family, "backoffRatio"), 0.5),
+						config.getDouble(key(family, "latencyTolerance"), 2.0)));
+	}
+
+	private String key(String family, String key) {
+		return config.scopedKey(PREFIX, family, key);
+	}
+
+	private static class Family {
+		private final TokenBucket bucket;
+		private final AdaptiveLimiter limiter;
+
+		Family(TokenBucket bucket, AdaptiveLimiter limiter) {
+			this.bucket = bucket;
+			this.limiter = limiter;
+		}
+	}
+}
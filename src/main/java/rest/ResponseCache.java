@@ -0,0 +1,319 @@
+package rest;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import restConfig.ConfigManager;
+
+/**
+ * Opt-in read-through cache for idempotent GETs, installed as an
+ * {@link ApiInterceptor} on a {@link SharedHttpClient}.
+ *
+ * <ul>
+ * <li>Entries are keyed by method + URL + query parameters + body + session
+ * cookie, so two sessions never see each other's data.</li>
+ * <li>Only paths with a TTL are cached: the longest matching path rule wins,
+ * otherwise the default TTL applies (0 = not cached).</li>
+ * <li>At most maxEntries responses are kept; the least recently used one is
+ * evicted first.</li>
+ * <li>An expired entry that carried an ETag or Last-Modified header is
+ * revalidated with If-None-Match / If-Modified-Since; a 304 renews it without
+ * downloading the body again.</li>
+ * <li>A POST, PUT, PATCH or DELETE invalidates every entry on the same resource
+ * path, its sub-paths and its parent collections.</li>
+ * </ul>
+ *
+ * Enabled with http.cache.enabled=true in config.properties; see
+ * {@link #fromConfig()} for the other keys.
+ */
+public class ResponseCache implements ApiInterceptor {
+	private final int maxEntries;
+	private final long defaultTtlMillis;
+	private final Map<String, Long> pathTtls = new LinkedHashMap<>();
+	private final LinkedHashMap<String, Entry> entries;
+	// bumped on every invalidation, so a GET that raced with a write is not stored
+	private long generation;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong revalidations = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param maxEntries        the maximum number of cached responses
+	 * @param defaultTtlSeconds TTL for paths without a rule; 0 caches only paths
+	 *                          with a rule
+	 */
+	public ResponseCache(int maxEntries, long defaultTtlSeconds) {
+		this.maxEntries = maxEntries;
+		this.defaultTtlMillis = TimeUnit.SECONDS.toMillis(defaultTtlSeconds);
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ResponseCache.Entry> eldest) {
+				if (size() > ResponseCache.this.maxEntries) {
+					evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Creates a cache from config.properties:
+	 * <ul>
+	 * <li>http.cache.maxEntries (default 500)</li>
+	 * <li>http.cache.defaultTtlSeconds (default 0)</li>
+	 * <li>http.cache.ttl - comma separated path=seconds rules, e.g.
+	 * {@code /api/v2/admin/job-titles=300,/api/v2/leave/workweek=600}</li>
+	 * </ul>
+	 *
+	 * @return the configured cache
+	 */
+	public static ResponseCache fromConfig() {
+		ResponseCache cache = new ResponseCache(ConfigManager.config().getInt("http.cache.maxEntries", 500),
+				ConfigManager.config().getInt("http.cache.defaultTtlSeconds", 0));
+		String rules = ConfigManager.config().getString("http.cache.ttl");
+		if (rules != null) {
+			for (String rule : rules.split(",")) {
+				String[] parts = rule.trim().split("=");
+				if (parts.length == 2) {
+					cache.ttl(parts[0].trim(), Long.parseLong(parts[1].trim()));
+				} else if (!rule.trim().isEmpty()) {
+					System.out.println("⚠️ Ignoring malformed http.cache.ttl rule: " + rule);
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Sets the TTL for every path containing the given fragment, e.g.
+	 * "/api/v2/admin/job-titles".
+	 *
+	 * @param pathFragment the path (or part of it) the rule applies to
+	 * @param ttlSeconds   how long responses stay fresh; 0 disables caching
+	 * @return this cache
+	 */
+	public synchronized ResponseCache ttl(String pathFragment, long ttlSeconds) {
+		pathTtls.put(pathFragment, TimeUnit.SECONDS.toMillis(ttlSeconds));
+		return this;
+	}
+
+	@Override
+	public Response intercept(ApiCall call, Chain chain) {
+		if (!call.isRead()) {
+			try {
+				return chain.proceed(call);
+			} finally {
+				invalidate(call.getPath());
+			}
+		}
+
+		long ttl = ttlFor(call.getPath());
+		if (ttl <= 0) {
+			return chain.proceed(call);
+		}
+
+		String key = call.key();
+		Entry cached;
+		long readGeneration;
+		synchronized (this) {
+			cached = entries.get(key);
+			readGeneration = generation;
+		}
+		long now = System.currentTimeMillis();
+		if (cached != null && now < cached.expiresAt) {
+			hits.incrementAndGet();
+			return cached.response;
+		}
+
+		if (cached != null && cached.hasValidator()) {
+			if (cached.etag != null) {
+				call.getSpec().header("If-None-Match", cached.etag);
+			}
+			if (cached.lastModified != null) {
+				call.getSpec().header("If-Modified-Since", cached.lastModified);
+			}
+		}
+
+		Response response = chain.proceed(call);
+		now = System.currentTimeMillis();
+		if (cached != null && response.getStatusCode() == 304) {
+			revalidations.incrementAndGet();
+			store(key, new Entry(cached.response, cached.path, now + ttl), readGeneration);
+			return cached.response;
+		}
+
+		misses.incrementAndGet();
+		if (response.getStatusCode() == 200) {
+			Response copy = new ResponseBuilder().clone(response).build();
+			store(key, new Entry(copy, call.getPath(), now + ttl), readGeneration);
+			return copy;
+		}
+		return response;
+	}
+
+	/**
+	 * Drops every entry whose path equals the given path, lies below it, or is one
+	 * of its parent collections.
+	 *
+	 * @param path the resource path that changed
+	 */
+	public synchronized void invalidate(String path) {
+		generation++;
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			String cachedPath = iterator.next().path;
+			if (related(cachedPath, path)) {
+				iterator.remove();
+				invalidations.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Drops all entries.
+	 */
+	public synchronized void clear() {
+		generation++;
+		invalidations.addAndGet(entries.size());
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of cached responses.
+	 *
+	 * @return the entry count
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns a snapshot of the hit, miss, revalidation, eviction and
+	 * invalidation counters.
+	 *
+	 * @return the cache statistics
+	 */
+	public Stats stats() {
+		return new Stats(hits.get(), misses.get(), revalidations.get(), evictions.get(), invalidations.get(), size());
+	}
+
+	private synchronized void store(String key, Entry entry, long readGeneration) {
+		if (generation == readGeneration) {
+			entries.put(key, entry);
+		}
+	}
+
+	private synchronized long ttlFor(String path) {
+		String best = null;
+		for (String fragment : pathTtls.keySet()) {
+			if (path.contains(fragment) && (best == null || fragment.length() > best.length())) {
+				best = fragment;
+			}
+		}
+		return best == null ? defaultTtlMillis : pathTtls.get(best);
+	}
+
+	private static boolean related(String cachedPath, String changedPath) {
+		return isSameOrBelow(cachedPath, changedPath) || isSameOrBelow(changedPath, cachedPath);
+	}
+
+	private static boolean isSameOrBelow(String path, String parent) {
+		return path.equals(parent) || path.startsWith(parent.endsWith("/") ? parent : parent + "/");
+	}
+
+	private static class Entry {
+		private final Response response;
+		private final String path;
+		private final long expiresAt;
+		private final String etag;
+		private final String lastModified;
+
+		Entry(Response response, String path, long expiresAt) {
+			this.response = response;
+			this.path = path;
+			this.expiresAt = expiresAt;
+			this.etag = response.getHeader("ETag");
+			this.lastModified = response.getHeader("Last-Modified");
+		}
+
+		boolean hasValidator() {
+			return etag != null || lastModified != null;
+		}
+	}
+
+	/**
+	 * Point-in-time cache counters.
+	 */
+	public static class Stats {
+		private final long hits;
+		private final long misses;
+		private final long revalidations;
+		private final long evictions;
+		private final long invalidations;
+		private final int size;
+
+		Stats(long hits, long misses, long revalidations, long evictions, long invalidations, int size) {
+			this.hits = hits;
+			this.misses = misses;
+			this.revalidations = revalidations;
+			this.evictions = evictions;
+			this.invalidations = invalidations;
+			this.size = size;
+		}
+
+		public long getHits() {
+			return hits;
+		}
+
+		public long getMisses() {
+			return misses;
+		}
+
+		public long getRevalidations() {
+			return revalidations;
+		}
+
+		public long getEvictions() {
+			return evictions;
+		}
+
+		public long getInvalidations() {
+			return invalidations;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * Returns the share of lookups answered without downloading a body (fresh
+		 * hits plus 304 revalidations).
+		 *
+		 * @return the hit ratio between 0 and 1
+		 */
+		public double getHitRatio() {
+			long lookups = hits + revalidations + misses;
+			return lookups == 0 ? 0 : (double) (hits + revalidations) / lookups;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+					"hits=%d, misses=%d, revalidated=%d, evictions=%d, invalidations=%d, size=%d, hitRatio=%.2f", hits,
+					misses, revalidations, evictions, invalidations, size, getHitRatio());
+		}
+	}
+}
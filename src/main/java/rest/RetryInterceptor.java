@@ -0,0 +1,306 @@
+package rest;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLException;
+
+import io.restassured.response.Response;
+import restConfig.AppConfig;
+import restConfig.ConfigManager;
+
+/**
+ * {@link ApiInterceptor} that retries idempotent requests (GET, HEAD, PUT,
+ * DELETE) after transient failures, so a network blip costs a few milliseconds
+ * instead of a failed test:
+ * <ul>
+ * <li>I/O errors such as connection resets and timeouts (but not unknown hosts
+ * or TLS errors)</li>
+ * <li>502, 503 and 504 responses</li>
+ * </ul>
+ * Attempt n waits a random time between 0 and min(maxDelay, baseDelay *
+ * 2^n) ("full jitter"), or the Retry-After of a 503 if that is longer, capped
+ * at maxDelay. POST is never retried, as it may have created the entity.
+ *
+ * A run-wide budget keeps retries from multiplying load on a struggling server:
+ * at most budget.min retries plus budget.ratio per request sent. Once spent,
+ * failures are returned as they are.
+ *
+ * Configured with http.retry.* in config.properties; see
+ * {@link #RetryInterceptor(AppConfig)}.
+ */
+public class RetryInterceptor implements ApiInterceptor {
+	private final int maxRetries;
+	private final long baseDelayMillis;
+	private final long maxDelayMillis;
+	private final double budgetRatio;
+	private final int budgetMin;
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong recovered = new AtomicLong();
+	private final AtomicLong exhausted = new AtomicLong();
+	private final AtomicLong budgetDenied = new AtomicLong();
+	private final AtomicLong retriedStatus = new AtomicLong();
+	private final AtomicLong retriedErrors = new AtomicLong();
+
+	/**
+	 * Creates an interceptor with the settings from the current config snapshot.
+	 */
+	public RetryInterceptor() {
+		this(ConfigManager.config());
+	}
+
+	/**
+	 * Creates an interceptor from the config keys:
+	 * <ul>
+	 * <li>http.retry.maxRetries (default 2)</li>
+	 * <li>http.retry.baseDelayMillis (default 100) and maxDelayMillis (default
+	 * 2000)</li>
+	 * <li>http.retry.budget.ratio (default 0.2) and budget.min (default 10)</li>
+	 * </ul>
+	 *
+	 * @param config the config holding the http.retry.* keys
+	 */
+	public RetryInterceptor(AppConfig config) {
+		this(config.getInt("http.retry.maxRetries", 2), config.getLong("http.retry.baseDelayMillis", 100),
+				config.getLong("http.retry.maxDelayMillis", 2000),
+				config.getDouble("http.retry.budget.ratio", 0.2),
+				config.getInt("http.retry.budget.min", 10));
+	}
+
+	/**
+	 * Creates an interceptor.
+	 *
+	 * @param maxRetries      retries per request after the first attempt
+	 * @param baseDelayMillis the backoff cap of the first retry
+	 * @param maxDelayMillis  the largest backoff
+	 * @param budgetRatio     retries allowed per request sent
+	 * @param budgetMin       retries always allowed, e.g. for the first requests
+	 */
+	public RetryInterceptor(int maxRetries, long baseDelayMillis, long maxDelayMillis, double budgetRatio,
+			int budgetMin) {
+		this.maxRetries = maxRetries;
+		this.baseDelayMillis = baseDelayMillis;
+		this.maxDelayMillis = maxDelayMillis;
+		this.budgetRatio = budgetRatio;
+		this.budgetMin = budgetMin;
+	}
+
+	@Override
+	public Response intercept(ApiCall call, Chain chain) {
+		requests.incrementAndGet();
+		if (!isIdempotent(call.getMethod())) {
+			return chain.proceed(call);
+		}
+		for (int attempt = 0;; attempt++) {
+			Response response;
+			try {
+				response = chain.proceed(call);
+			} catch (Exception e) {
+				// RestAssured rethrows I/O errors undeclared, so catch Exception
+				if (!isTransient(e) || !mayRetry(attempt)) {
+					countGiveUp(attempt);
+					throw sneakyThrow(e);
+				}
+				retriedErrors.incrementAndGet();
+				backoff(call, attempt, e.toString(), 0);
+				continue;
+			}
+			if (!isTransient(response.getStatusCode()) || !mayRetry(attempt)) {
+				if (isTransient(response.getStatusCode())) {
+					countGiveUp(attempt);
+				} else if (attempt > 0) {
+					recovered.incrementAndGet();
+				}
+				return response;
+			}
+			retriedStatus.incrementAndGet();
+			backoff(call, attempt, "status " + response.getStatusCode(), retryAfterMillis(response));
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the retry counters.
+	 *
+	 * @return the retry statistics
+	 */
+	public Stats stats() {
+		return new Stats(requests.get(), retries.get(), recovered.get(), exhausted.get(), budgetDenied.get(),
+				retriedStatus.get(), retriedErrors.get());
+	}
+
+	/**
+	 * Indicates whether a failed request may be sent again safely.
+	 *
+	 * @param method the HTTP method
+	 * @return true for GET, HEAD, PUT and DELETE
+	 */
+	public static boolean isIdempotent(String method) {
+		return "GET".equals(method) || "HEAD".equals(method) || "PUT".equals(method) || "DELETE".equals(method);
+	}
+
+	/**
+	 * Indicates whether a status code signals a transient gateway or overload
+	 * failure.
+	 *
+	 * @param statusCode the HTTP status code
+	 * @return true for 502, 503 and 504
+	 */
+	public static boolean isTransient(int statusCode) {
+		return statusCode == 502 || statusCode == 503 || statusCode == 504;
+	}
+
+	/**
+	 * Indicates whether an exception is a transient I/O error: anything caused by
+	 * an IOException except unknown hosts and TLS failures.
+	 *
+	 * @param error the exception thrown by the request
+	 * @return true if retrying may succeed
+	 */
+	public static boolean isTransient(Throwable error) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause instanceof UnknownHostException || cause instanceof SSLException) {
+				return false;
+			}
+			if (cause instanceof IOException) {
+				return true;
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+		return false;
+	}
+
+	private boolean mayRetry(int attempt) {
+		if (attempt >= maxRetries) {
+			return false;
+		}
+		// reserve a retry if the budget allows one more
+		while (true) {
+			long used = retries.get();
+			if (used >= budgetMin + budgetRatio * requests.get()) {
+				budgetDenied.incrementAndGet();
+				return false;
+			}
+			if (retries.compareAndSet(used, used + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private void countGiveUp(int attempt) {
+		if (attempt > 0) {
+			exhausted.incrementAndGet();
+		}
+	}
+
+	private void backoff(ApiCall call, int attempt, String reason, long retryAfterMillis) {
+		long cap = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt, 20));
+		long delay = Math.min(maxDelayMillis,
+				Math.max(retryAfterMillis, ThreadLocalRandom.current().nextLong(cap + 1)));
+		System.out.println("⚠️ Retrying " + call + " after " + reason + " (retry " + (attempt + 1) + "/" + maxRetries
+				+ ") in " + delay + " ms");
+		try {
+			Thread.sleep(delay);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting to retry " + call, e);
+		}
+	}
+
+	private static long retryAfterMillis(Response response) {
+		String retryAfter = response.getHeader("Retry-After");
+		if (retryAfter == null) {
+			return 0;
+		}
+		try {
+			return Long.parseLong(retryAfter.trim()) * 1000;
+		} catch (NumberFormatException e) {
+			// HTTP-date form; fall back to the computed backoff
+			return 0;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> RuntimeException sneakyThrow(Throwable error) throws E {
+		throw (E) error;
+	}
+
+	/**
+	 * Point-in-time retry counters.
+	 */
+	public static class Stats {
+		private final long requests;
+		private final long retries;
+		private final long recovered;
+		private final long exhausted;
+		private final long budgetDenied;
+		private final long retriedStatus;
+		private final long retriedErrors;
+
+		Stats(long requests, long retries, long recovered, long exhausted, long budgetDenied, long retriedStatus,
+				long retriedErrors) {
+			this.requests = requests;
+			this.retries = retries;
+			this.recovered = recovered;
+			this.exhausted = exhausted;
+			this.budgetDenied = budgetDenied;
+			this.retriedStatus = retriedStatus;
+			this.retriedErrors = retriedErrors;
+		}
+
+		public long getRequests() {
+			return requests;
+		}
+
+		public long getRetries() {
+			return retries;
+		}
+
+		/**
+		 * Returns the requests that succeeded after at least one retry.
+		 *
+		 * @return the recovered request count
+		 */
+		public long getRecovered() {
+			return recovered;
+		}
+
+		/**
+		 * Returns the requests that still failed after being retried.
+		 *
+		 * @return the exhausted request count
+		 */
+		public long getExhausted() {
+			return exhausted;
+		}
+
+		/**
+		 * Returns how often a retry was skipped because the budget was spent.
+		 *
+		 * @return the denied retry count
+		 */
+		public long getBudgetDenied() {
+			return budgetDenied;
+		}
+
+		public long getRetriedStatus() {
+			return retriedStatus;
+		}
+
+		public long getRetriedErrors() {
+			return retriedErrors;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+					"requests=%d, retries=%d (status=%d, errors=%d), recovered=%d, exhausted=%d, budgetDenied=%d",
+					requests, retries, retriedStatus, retriedErrors, recovered, exhausted, budgetDenied);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import io.restassured.response.Response;
+import restConfig.AppConfig;
+import restConfig.ConfigManager;
+
+/**
+ * Keeps the orangehrm session cookie between suite runs, so short reruns can
+ * skip the login. For every base URL and user the store keeps the cookie, when
+ * it was saved and when it expires, in a local properties file (by default
+ * .sessions/orangehrm.properties, ignored by git).
+ *
+ * {@link #reuse(String, String)} returns a stored cookie only if it has not
+ * expired and one cheap authenticated call (session.validate.path, the
+ * employee count by default) still answers 200; otherwise the entry is dropped
+ * and the caller logs in and {@link #save saves} the new cookie.
+ */
+public class SessionStore {
+	private static final List<String> FIELDS = List.of("baseUrl", "username", "cookie", "savedAt", "expiresAt");
+
+	private final Path file;
+	private final long maxAgeMillis;
+	private final String validatePath;
+
+	/**
+	 * Creates a store.
+	 *
+	 * @param file         the properties file holding the sessions
+	 * @param maxAgeMillis how long a cookie without its own expiry is trusted
+	 * @param validatePath the endpoint used to check a stored cookie
+	 */
+	public SessionStore(Path file, long maxAgeMillis, String validatePath) {
+		this.file = file;
+		this.maxAgeMillis = maxAgeMillis;
+		this.validatePath = validatePath;
+	}
+
+	/**
+	 * Creates a store from config.properties: session.store.file,
+	 * session.store.maxAgeMinutes and session.validate.path.
+	 *
+	 * @return the configured store
+	 */
+	public static SessionStore fromConfig() {
+		AppConfig config = ConfigManager.config();
+		return new SessionStore(Paths.get(config.getString("session.store.file", ".sessions/orangehrm.properties")),
+				TimeUnit.MINUTES.toMillis(config.getInt("session.store.maxAgeMinutes", 20)),
+				config.getString("session.validate.path", "/web/index.php/api/v2/pim/employees/count"));
+	}
+
+	/**
+	 * Returns the stored cookie for the base URL and user if it is still accepted
+	 * by the server.
+	 *
+	 * @param baseUrl  the OrangeHRM base URL
+	 * @param username the user the session belongs to
+	 * @return the cookie value, or null if there is no usable session
+	 */
+	public synchronized String reuse(String baseUrl, String username) {
+		Properties sessions = read();
+		String prefix = prefix(baseUrl, username);
+		String cookie = sessions.getProperty(prefix + "cookie");
+		if (cookie == null) {
+			return null;
+		}
+		long expiresAt = Long.parseLong(sessions.getProperty(prefix + "expiresAt", "0"));
+		if (System.currentTimeMillis() >= expiresAt) {
+			System.out.println("⚠️ Stored session for " + username + " has expired, logging in again.");
+			remove(baseUrl, username);
+			return null;
+		}
+		if (!isAccepted(baseUrl, cookie)) {
+			System.out.println("⚠️ Stored session for " + username + " was rejected, logging in again.");
+			remove(baseUrl, username);
+			return null;
+		}
+		System.out.println("✅ Reusing stored session for " + username + " at " + baseUrl);
+		return cookie;
+	}
+
+	/**
+	 * Stores a freshly obtained cookie.
+	 *
+	 * @param baseUrl  the OrangeHRM base URL
+	 * @param username the user the session belongs to
+	 * @param cookie   the orangehrm cookie value
+	 * @param expiry   the expiry sent with the cookie, or null for a session
+	 *                 cookie (then session.store.maxAgeMinutes applies)
+	 */
+	public synchronized void save(String baseUrl, String username, String cookie, Date expiry) {
+		long now = System.currentTimeMillis();
+		long expiresAt = now + maxAgeMillis;
+		if (expiry != null && expiry.getTime() < expiresAt) {
+			expiresAt = expiry.getTime();
+		}
+		Properties sessions = read();
+		String prefix = prefix(baseUrl, username);
+		sessions.setProperty(prefix + "baseUrl", baseUrl);
+		sessions.setProperty(prefix + "username", username);
+		sessions.setProperty(prefix + "cookie", cookie);
+		sessions.setProperty(prefix + "savedAt", String.valueOf(now));
+		sessions.setProperty(prefix + "expiresAt", String.valueOf(expiresAt));
+		write(sessions);
+	}
+
+	/**
+	 * Forgets the stored session of a user.
+	 *
+	 * @param baseUrl  the OrangeHRM base URL
+	 * @param username the user the session belongs to
+	 */
+	public synchronized void remove(String baseUrl, String username) {
+		Properties sessions = read();
+		String prefix = prefix(baseUrl, username);
+		// by exact key: one prefix may start another, e.g. users "bob" and "bob.x"
+		for (String field : FIELDS) {
+			sessions.remove(prefix + field);
+		}
+		write(sessions);
+	}
+
+	/**
+	 * Sends one authenticated request to check that the server still accepts the
+	 * cookie. Bypasses the interceptor chain so a cached answer cannot hide an
+	 * expired session.
+	 */
+	private boolean isAccepted(String baseUrl, String cookie) {
+		try {
+			Response response = SharedHttpClient.forBaseUrl(baseUrl).given().redirects().follow(false)
+					.cookie(HttpAuthenticator.SESSION_COOKIE, cookie).get(baseUrl + validatePath).then().extract()
+					.response();
+			return response.getStatusCode() == 200;
+		} catch (RuntimeException e) {
+			System.out.println("⚠️ Could not validate stored session: " + e.getMessage());
+			return false;
+		}
+	}
+
+	// Properties.store escapes the '=' and ':' of a URL, so the raw key is safe
+	private static String prefix(String baseUrl, String username) {
+		return baseUrl + "|" + username + ".";
+	}
+
+	private Properties read() {
+		Properties sessions = new Properties();
+		if (Files.isRegularFile(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				sessions.load(in);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return sessions;
+	}
+
+	// Written to a temporary file and moved into place, so a parallel run never
+	// reads a half-written store.
+	private void write(Properties sessions) {
+		try {
+			Path directory = file.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, "sessions", ".tmp");
+			try {
+				Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+			} catch (UnsupportedOperationException e) {
+				// not a POSIX file system
+			}
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				sessions.store(out, "OrangeHRM session cookies - do not commit");
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,303 @@
+package rest;
+
+import java.net.http.HttpClient;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.conn.params.ConnManagerPNames;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import restConfig.ConfigManager;
+import restStub.StubRecorder;
+
+/**
+ * Long-lived, thread-safe HTTP client shared by every {@link ApiUtil} call
+ * against one environment (base URL). All requests go through a single bounded
+ * keep-alive connection pool, so back-to-back calls reuse open sockets and TLS
+ * sessions instead of paying TCP and TLS setup on each request.
+ *
+ * Requests sent with {@link #execute(ApiCall)} also pass through the client's
+ * {@link ApiInterceptor} chain, in this order: the {@link ResponseCache}
+ * (http.cache.enabled), the {@link HedgingInterceptor} (http.hedge.enabled),
+ * the {@link RetryInterceptor} (http.retry.enabled), the
+ * {@link CircuitBreakerInterceptor} (http.circuit.enabled), the
+ * {@link RateLimitInterceptor} (http.rateLimit.enabled) and the
+ * {@link MetricsInterceptor} (http.metrics.enabled).
+ *
+ * With http.transport=http2 the chain ends in an {@link Http2Transport}
+ * (java.net.http, HTTP/2 multiplexing) instead of the RestAssured connection
+ * pool.
+ *
+ * With stub.record=true every RestAssured request is also appended to the stub
+ * archive, see {@link StubRecorder}.
+ */
+public class SharedHttpClient {
+	private static final Map<String, SharedHttpClient> CLIENTS = new ConcurrentHashMap<>();
+	private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "http-pool-evictor");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final String baseUrl;
+	// RestAssured 5 casts the client of its httpClientFactory to AbstractHttpClient
+	// and sets timeouts and auth through the HttpClient 4.0 API, so a client from
+	// HttpClientBuilder fails there; the deprecated pool and client are the ones
+	// it works with
+	@SuppressWarnings("deprecation")
+	private final PoolingClientConnectionManager connectionManager;
+	@SuppressWarnings("deprecation")
+	private final DefaultHttpClient httpClient;
+	private final RestAssuredConfig config;
+	private final List<ApiInterceptor> interceptors = new CopyOnWriteArrayList<>();
+	private final Http2Transport http2;
+
+	// deprecated API for RestAssured, see connectionManager
+	@SuppressWarnings("deprecation")
+	private SharedHttpClient(String baseUrl) {
+		this.baseUrl = baseUrl;
+
+		SchemeRegistry schemeRegistry = new SchemeRegistry();
+		schemeRegistry.register(new Scheme("http", 80, PlainSocketFactory.getSocketFactory()));
+		SSLContext sslContext = relaxedSslContext();
+		schemeRegistry.register(new Scheme("https", 443,
+				new SSLSocketFactory(sslContext, SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER)));
+
+		connectionManager = new PoolingClientConnectionManager(schemeRegistry,
+				ConfigManager.config().getInt("http.pool.timeToLiveSeconds", 300), TimeUnit.SECONDS);
+		connectionManager.setMaxTotal(ConfigManager.config().getInt("http.pool.maxTotal", 50));
+		connectionManager.setDefaultMaxPerRoute(ConfigManager.config().getInt("http.pool.maxPerRoute", 20));
+
+		httpClient = new DefaultHttpClient(connectionManager);
+		long keepAliveMillis = TimeUnit.SECONDS.toMillis(ConfigManager.config().getInt("http.pool.keepAliveSeconds", 60));
+		httpClient.setKeepAliveStrategy((response, context) -> keepAliveMillis);
+		// RestAssured only releases a pooled connection once it reads the body to the
+		// end, which never happens for empty or unread bodies; buffering the entity
+		// here hands the connection back to the pool as soon as the response is in.
+		httpClient.addResponseInterceptor((response, context) -> {
+			HttpEntity entity = response.getEntity();
+			if (entity != null && entity.isStreaming()) {
+				response.setEntity(new BufferedHttpEntity(entity));
+			}
+		});
+
+		config = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+				.httpClientFactory(() -> httpClient).reuseHttpClientInstance()
+				.setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, ConfigManager.config().getInt("http.connectTimeoutMillis", 10000))
+				.setParam(CoreConnectionPNames.SO_TIMEOUT, ConfigManager.config().getInt("http.socketTimeoutMillis", 30000))
+				.setParam(ConnManagerPNames.TIMEOUT, (long) ConfigManager.config().getInt("http.pool.leaseTimeoutMillis", 30000)));
+
+		StubRecorder.installFromConfig();
+
+		int idleSeconds = ConfigManager.config().getInt("http.pool.idleTimeoutSeconds", 30);
+		EVICTOR.scheduleWithFixedDelay(() -> {
+			connectionManager.closeExpiredConnections();
+			connectionManager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+		}, idleSeconds, idleSeconds, TimeUnit.SECONDS);
+
+		if ("http2".equalsIgnoreCase(ConfigManager.config().getString("http.transport", "restassured"))) {
+			// java.net.http checks host names even with a trust-all context; the suite
+			// runs with relaxed HTTPS validation, so switch that off too
+			if (System.getProperty("jdk.internal.httpclient.disableHostnameVerification") == null) {
+				System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
+			}
+			http2 = new Http2Transport(
+					HttpClient.Version.valueOf(ConfigManager.config().getString("http.transport.version", "HTTP_2")),
+					sslContext, Duration.ofMillis(ConfigManager.config().getInt("http.connectTimeoutMillis", 10000)),
+					Duration.ofMillis(ConfigManager.config().getInt("http.socketTimeoutMillis", 30000)));
+		} else {
+			http2 = null;
+		}
+
+		if (ConfigManager.config().getBoolean("http.cache.enabled", false)) {
+			interceptors.add(ResponseCache.fromConfig());
+		}
+		// outside the retries, so a hedge races the original with its retries
+		if (ConfigManager.config().getBoolean("http.hedge.enabled", false)) {
+			interceptors.add(new HedgingInterceptor());
+		}
+		if (ConfigManager.config().getBoolean("http.retry.enabled", true)) {
+			interceptors.add(new RetryInterceptor());
+		}
+		// inside the retries, so an open circuit is not retried and each attempt counts
+		if (ConfigManager.config().getBoolean("http.circuit.enabled", true)) {
+			interceptors.add(new CircuitBreakerInterceptor());
+		}
+		// after the cache, so cache hits do not use up rate or concurrency, and
+		// inside the retries, so every attempt is paced
+		if (ConfigManager.config().getBoolean("http.rateLimit.enabled", false)) {
+			interceptors.add(new RateLimitInterceptor());
+		}
+		// last, so it times each request actually sent and not the time spent waiting
+		// for a retry, a hedge or a rate limit permit
+		if (ConfigManager.config().getBoolean("http.metrics.enabled", true)) {
+			interceptors.add(MetricsInterceptor.shared());
+		}
+	}
+
+	/**
+	 * Returns the shared client for the given environment, creating it on first
+	 * use.
+	 *
+	 * @param baseUrl the base URL identifying the environment
+	 * @return the shared client bound to that base URL
+	 */
+	public static SharedHttpClient forBaseUrl(String baseUrl) {
+		return CLIENTS.computeIfAbsent(baseUrl, SharedHttpClient::new);
+	}
+
+	/**
+	 * Starts a new request specification that sends through the pooled
+	 * connection manager of this client.
+	 *
+	 * @return a fresh RequestSpecification bound to the shared connection pool
+	 */
+	public RequestSpecification given() {
+		return RestAssured.given().config(config);
+	}
+
+	/**
+	 * Sends a call through the interceptor chain and then over the pooled
+	 * connection.
+	 *
+	 * @param call the call, built on a specification from {@link #given()}
+	 * @return the response returned by the chain
+	 */
+	public Response execute(ApiCall call) {
+		return proceed(interceptors.toArray(new ApiInterceptor[0]), 0, call);
+	}
+
+	private Response proceed(ApiInterceptor[] chain, int index, ApiCall call) {
+		if (index == chain.length) {
+			return http2 != null ? http2.send(call) : call.send();
+		}
+		return chain[index].intercept(call, next -> proceed(chain, index + 1, next));
+	}
+
+	/**
+	 * Appends an interceptor to the chain; it runs after those added before it.
+	 *
+	 * @param interceptor the interceptor to add
+	 */
+	public void addInterceptor(ApiInterceptor interceptor) {
+		interceptors.add(interceptor);
+	}
+
+	/**
+	 * Removes an interceptor from the chain.
+	 *
+	 * @param interceptor the interceptor to remove
+	 */
+	public void removeInterceptor(ApiInterceptor interceptor) {
+		interceptors.remove(interceptor);
+	}
+
+	/**
+	 * Returns the first interceptor of the given type, e.g. the
+	 * {@link ResponseCache} to read its statistics.
+	 *
+	 * @param type the interceptor class
+	 * @return the interceptor, or null if none is installed
+	 */
+	public <T extends ApiInterceptor> T interceptor(Class<T> type) {
+		for (ApiInterceptor interceptor : interceptors) {
+			if (type.isInstance(interceptor)) {
+				return type.cast(interceptor);
+			}
+		}
+		return null;
+	}
+
+	public String getBaseUrl() {
+		return baseUrl;
+	}
+
+	/**
+	 * Returns a snapshot of the connection pool: leased, available and pending
+	 * connections together with the configured maximum.
+	 *
+	 * @return the current pool statistics across all routes
+	 */
+	public PoolStats poolStats() {
+		return connectionManager.getTotalStats();
+	}
+
+	/**
+	 * Returns the pool statistics of every environment client created so far,
+	 * keyed by base URL.
+	 *
+	 * @return a map of base URL to its current pool statistics
+	 */
+	public static Map<String, PoolStats> allPoolStats() {
+		Map<String, PoolStats> stats = new ConcurrentHashMap<>();
+		CLIENTS.forEach((url, client) -> stats.put(url, client.poolStats()));
+		return stats;
+	}
+
+	/**
+	 * Closes the pooled connections of this client and forgets it, so the next
+	 * {@link #forBaseUrl(String)} call starts with a fresh pool.
+	 */
+	public void shutdown() {
+		CLIENTS.remove(baseUrl, this);
+		connectionManager.shutdown();
+	}
+
+	/**
+	 * Returns the transport used at the end of the interceptor chain.
+	 *
+	 * @return "http2" or "restassured"
+	 */
+	public String getTransport() {
+		return http2 != null ? "http2" : "restassured";
+	}
+
+	// The suite runs with relaxed HTTPS validation; one SSLContext per client
+	// keeps its session cache, so pooled and new sockets resume TLS sessions.
+	private static SSLContext relaxedSslContext() {
+		try {
+			TrustManager[] trustAll = { new X509TrustManager() {
+				public void checkClientTrusted(X509Certificate[] chain, String authType) {
+				}
+
+				public void checkServerTrusted(X509Certificate[] chain, String authType) {
+				}
+
+				public X509Certificate[] getAcceptedIssuers() {
+					return new X509Certificate[0];
+				}
+			} };
+			SSLContext sslContext = SSLContext.getInstance("TLS");
+			sslContext.init(null, trustAll, new SecureRandom());
+			return sslContext;
+		} catch (Exception e) {
+			throw new IllegalStateException("Unable to initialise TLS for the shared HTTP client", e);
+		}
+	}
+}
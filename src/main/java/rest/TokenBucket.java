@@ -0,0 +1,99 @@
+package rest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket rate limiter: tokens are added continuously at a fixed rate up
+ * to the burst size, and every request takes one. A caller that finds the
+ * bucket empty waits until its token is due, so requests are spread out
+ * instead of rejected.
+ */
+public class TokenBucket {
+	private final double permitsPerNano;
+	private final double burst;
+	private double tokens;
+	private long refilledAt;
+
+	/**
+	 * Creates a bucket that starts full.
+	 *
+	 * @param permitsPerSecond the sustained rate; 0 or less disables limiting
+	 * @param burst            the maximum number of tokens saved up while idle
+	 */
+	public TokenBucket(double permitsPerSecond, int burst) {
+		this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.burst = Math.max(1, burst);
+		this.tokens = this.burst;
+		this.refilledAt = System.nanoTime();
+	}
+
+	/**
+	 * Takes one token, waiting until one is available.
+	 */
+	public void acquire() {
+		long wait = reserve();
+		while (wait > 0) {
+			long deadline = System.nanoTime() + wait;
+			LockSupport.parkNanos(this, wait);
+			wait = deadline - System.nanoTime();
+		}
+	}
+
+	/**
+	 * Takes one token if it is available right now.
+	 *
+	 * @return true if a token was taken
+	 */
+	public boolean tryAcquire() {
+		return tryAcquire(System.nanoTime());
+	}
+
+	// the time is a parameter so the tests can step the clock
+	synchronized boolean tryAcquire(long now) {
+		if (permitsPerNano <= 0) {
+			return true;
+		}
+		refill(now);
+		if (tokens >= 1) {
+			tokens -= 1;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the tokens currently available.
+	 *
+	 * @return the available tokens, negative while callers are waiting
+	 */
+	public double available() {
+		return available(System.nanoTime());
+	}
+
+	synchronized double available(long now) {
+		refill(now);
+		return tokens;
+	}
+
+	public double getPermitsPerSecond() {
+		return permitsPerNano * TimeUnit.SECONDS.toNanos(1);
+	}
+
+	// Takes the token up front (the balance may go negative) and returns how long
+	// the caller has to wait for it, so waiting callers are served in order.
+	private synchronized long reserve() {
+		if (permitsPerNano <= 0) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		refill(now);
+		tokens -= 1;
+		return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+	}
+
+	private void refill(long now) {
+		tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+		refilledAt = now;
+	}
+}
@@ -0,0 +1,173 @@
+package restConfig;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable snapshot of config.properties merged with the overlay of the active
+ * environment. A snapshot never changes after it is built; a reload builds a
+ * new one and {@link ConfigManager} swaps it in atomically, so a reader always
+ * sees one consistent set of values.
+ */
+public final class AppConfig {
+	private final String environment;
+	private final Map<String, String> values;
+
+	AppConfig(String environment, Properties properties) {
+		this.environment = environment;
+		Map<String, String> copy = new LinkedHashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			copy.put(key, properties.getProperty(key).trim());
+		}
+		this.values = Collections.unmodifiableMap(copy);
+	}
+
+	/**
+	 * Returns the environment this snapshot was built for, e.g. "dev".
+	 *
+	 * @return the environment name, or null if no overlay is applied
+	 */
+	public String getEnvironment() {
+		return environment;
+	}
+
+	public String getBaseUrl() {
+		return getString("base.url");
+	}
+
+	public String getUsername() {
+		return getString("username");
+	}
+
+	public String getPassword() {
+		return getString("password");
+	}
+
+	/**
+	 * Returns a value as a string.
+	 *
+	 * @param key the property key
+	 * @return the value, or null if the key is not set
+	 */
+	public String getString(String key) {
+		return values.get(key);
+	}
+
+	/**
+	 * Returns a value as a string, falling back to a default.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue returned when the key is not set or empty
+	 * @return the value
+	 */
+	public String getString(String key, String defaultValue) {
+		String value = values.get(key);
+		return value == null || value.isEmpty() ? defaultValue : value;
+	}
+
+	/**
+	 * Returns a value as an int, falling back to a default.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue returned when the key is not set or empty
+	 * @return the value
+	 * @throws IllegalStateException if the value is not a number
+	 */
+	public int getInt(String key, int defaultValue) {
+		String value = values.get(key);
+		if (value == null || value.isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalStateException("Config key '" + key + "' is not a number: " + value, e);
+		}
+	}
+
+	/**
+	 * Returns a value as a long, falling back to a default.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue returned when the key is not set or empty
+	 * @return the value
+	 * @throws IllegalStateException if the value is not a number
+	 */
+	public long getLong(String key, long defaultValue) {
+		String value = values.get(key);
+		if (value == null || value.isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalStateException("Config key '" + key + "' is not a number: " + value, e);
+		}
+	}
+
+	/**
+	 * Returns a value as a double, falling back to a default.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue returned when the key is not set or empty
+	 * @return the value
+	 * @throws IllegalStateException if the value is not a number
+	 */
+	public double getDouble(String key, double defaultValue) {
+		String value = values.get(key);
+		if (value == null || value.isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalStateException("Config key '" + key + "' is not a number: " + value, e);
+		}
+	}
+
+	/**
+	 * Returns a value as a boolean, falling back to a default.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue returned when the key is not set or empty
+	 * @return the value
+	 */
+	public boolean getBoolean(String key, boolean defaultValue) {
+		String value = values.get(key);
+		return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+	}
+
+	/**
+	 * Returns the key of a setting that can be overridden per scope, such as
+	 * http.circuit.pim.windowSize for http.circuit.windowSize: the scoped key if
+	 * it is set and not empty, else the shared one. Read the value with the
+	 * getter of its type, e.g.
+	 * {@code getInt(scopedKey("http.circuit.", "pim", "windowSize"), 20)}.
+	 *
+	 * @param prefix the prefix of the setting, ending with a dot, e.g.
+	 *               "http.circuit."
+	 * @param scope  the scope, e.g. the endpoint family "pim"
+	 * @param key    the setting, e.g. "windowSize"
+	 * @return prefix + scope + "." + key if set, otherwise prefix + key
+	 */
+	public String scopedKey(String prefix, String scope, String key) {
+		String scoped = prefix + scope + "." + key;
+		return getString(scoped, null) == null ? prefix + key : scoped;
+	}
+
+	/**
+	 * Returns all values of this snapshot.
+	 *
+	 * @return an unmodifiable map of key to value
+	 */
+	public Map<String, String> asMap() {
+		return values;
+	}
+
+	@Override
+	public String toString() {
+		return "AppConfig[environment=" + environment + ", baseUrl=" + getBaseUrl() + ", keys=" + values.size() + "]";
+	}
+}
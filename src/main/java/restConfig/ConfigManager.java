@@ -1,22 +1,185 @@
 package restConfig;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Loads config.properties once into an immutable {@link AppConfig} snapshot.
+ *
+ * The environment overlay config-&lt;environment&gt;.properties (e.g.
+ * config-perf.properties) next to the base file is applied on top when an
+ * environment is selected, either with the "environment" system property or by
+ * {@link #useEnvironment(String)} (the TestListener passes the "environment"
+ * parameter of testng.xml). System properties override both files: every
+ * key the files set, and any key in a namespace they use (http., load., stub.,
+ * slo., ...), so -Dhttp.circuit.pim.windowSize=10 takes effect although only
+ * http.circuit.windowSize is in the file.
+ *
+ * With config.watch=true a daemon thread watches the directory and swaps in a
+ * fresh snapshot when the base file or the active overlay changes.
+ */
 public class ConfigManager {
-	private static Properties props = new Properties();
+	private static final Path CONFIG_FILE = Paths
+			.get(System.getProperty("config.file", "src/main/resources/config.properties"));
+	private static final AtomicReference<AppConfig> CURRENT = new AtomicReference<>();
+	private static volatile String environment = System.getProperty("environment");
+	private static Thread watcher;
 
 	static {
+		reload();
+		if (config().getBoolean("config.watch", false)) {
+			watch();
+		}
+	}
+
+	/**
+	 * Returns the current config snapshot.
+	 *
+	 * @return the snapshot
+	 */
+	public static AppConfig config() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Returns a value from the current snapshot.
+	 *
+	 * @param key the property key
+	 * @return the value, or null if the key is not set
+	 */
+	public static String getProperty(String key) {
+		return config().getString(key);
+	}
+
+	/**
+	 * Selects the environment overlay and reloads the snapshot if it changed.
+	 *
+	 * @param name the environment, e.g. "dev", "qa" or "perf"; null for none
+	 */
+	public static synchronized void useEnvironment(String name) {
+		String normalized = name == null || name.trim().isEmpty() ? null : name.trim();
+		if (normalized == null ? environment != null : !normalized.equals(environment)) {
+			environment = normalized;
+			reload();
+		}
+	}
+
+	/**
+	 * Re-reads the base file and the active overlay and atomically replaces the
+	 * snapshot. If the files cannot be read the previous snapshot stays in place.
+	 */
+	public static synchronized void reload() {
+		Properties props = new Properties();
 		try {
-			FileInputStream fis = new FileInputStream("src/main/resources/config.properties");
-			props.load(fis);
+			load(props, CONFIG_FILE, "config.properties", true);
+			if (environment != null) {
+				load(props, overlayFile(), "config-" + environment + ".properties", false);
+			}
 		} catch (IOException e) {
 			e.printStackTrace();
+			if (CURRENT.get() != null) {
+				return;
+			}
+		}
+		Set<String> namespaces = new HashSet<>();
+		for (String key : props.stringPropertyNames()) {
+			int dot = key.indexOf('.');
+			if (dot > 0) {
+				namespaces.add(key.substring(0, dot + 1));
+			}
 		}
+		Properties system = System.getProperties();
+		for (String key : system.stringPropertyNames()) {
+			int dot = key.indexOf('.');
+			if (props.containsKey(key) || (dot > 0 && namespaces.contains(key.substring(0, dot + 1)))) {
+				props.setProperty(key, system.getProperty(key));
+			}
+		}
+		CURRENT.set(new AppConfig(environment, props));
 	}
 
-	public static String getProperty(String key) {
-		return props.getProperty(key);
+	/**
+	 * Starts watching the config directory; further calls do nothing.
+	 */
+	public static synchronized void watch() {
+		Path directory = CONFIG_FILE.toAbsolutePath().getParent();
+		if (watcher != null || directory == null || !Files.isDirectory(directory)) {
+			return;
+		}
+		try {
+			WatchService service = FileSystems.getDefault().newWatchService();
+			directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			watcher = new Thread(() -> watchLoop(service), "config-watcher");
+			watcher.setDaemon(true);
+			watcher.start();
+		} catch (IOException e) {
+			System.out.println("⚠️ Config file watching is not available: " + e.getMessage());
+		}
+	}
+
+	private static void watchLoop(WatchService service) {
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				// editors often truncate and then write: let the burst of events settle
+				Thread.sleep(200);
+				boolean changed = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					Object context = event.context();
+					if (context instanceof Path && isConfigFile(((Path) context).getFileName().toString())) {
+						changed = true;
+					}
+				}
+				key.reset();
+				if (changed) {
+					reload();
+					System.out.println("✅ Reloaded config: " + config());
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static boolean isConfigFile(String name) {
+		return name.equals(CONFIG_FILE.getFileName().toString())
+				|| (environment != null && name.equals(overlayFile().getFileName().toString()));
+	}
+
+	private static Path overlayFile() {
+		return CONFIG_FILE.resolveSibling("config-" + environment + ".properties");
+	}
+
+	/**
+	 * Loads a file, falling back to the classpath resource of the same name when
+	 * the file does not exist (e.g. when running from another directory).
+	 */
+	private static void load(Properties props, Path file, String resource, boolean required) throws IOException {
+		if (Files.isRegularFile(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				props.load(in);
+			}
+			return;
+		}
+		try (InputStream in = ConfigManager.class.getClassLoader().getResourceAsStream(resource)) {
+			if (in != null) {
+				props.load(in);
+			} else if (required) {
+				throw new IOException("Config file not found: " + file.toAbsolutePath());
+			}
+		}
 	}
 }
@@ -0,0 +1,463 @@
+package restStub;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import restConfig.AppConfig;
+
+/**
+ * In-memory simulation of the OrangeHRM v2 endpoints ApiUtil calls, over a
+ * seeded synthetic dataset of any size, for data-size scaling benchmarks and
+ * parallel stress runs. Served by a {@link StubServer} (stub.source=simulator)
+ * or called directly through {@link #handle(String, String, String, String)}.
+ *
+ * Resources: pim/employees (with count and personal-details),
+ * leave/holidays (fromDate/toDate), leave/leave-types, leave/workweek,
+ * leave/reports, recruitment/vacancies, recruitment/candidates,
+ * admin/job-titles, admin/employment-statuses and pim/reports/defined. Lists
+ * page with limit (default 50, 0 for all; holidays default to all) and offset
+ * and carry meta.total. Rows are created with POST, read with GET .../{id},
+ * updated with PUT .../{id} and deleted with DELETE .../{id} or DELETE with
+ * {"ids":[...]}.
+ *
+ * The same seed and sizes always give the same data. Rows are generated on
+ * read and only stored once written, see {@link SimTable}, so sizes of a
+ * million rows start instantly.
+ */
+public class ApiSimulator implements StubHandler {
+	// the protocol the live environment answers with, asserted by the tests
+	private static final String PROTOCOL = "HTTP/1.0";
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final LocalDate FIRST_HOLIDAY = LocalDate.of(2025, 1, 1);
+	private static final String[] FIRST_NAMES = { "Linda", "Peter", "Odis", "Rebecca", "Fiona", "Garry", "Charlie",
+			"Russel", "Joe", "Jasmine", "Thomas", "Anthony", "Lisa", "Chandler", "Dominic", "Sara" };
+	private static final String[] LAST_NAMES = { "Anderson", "Mathews", "Adalwin", "Harmony", "Grace", "White",
+			"Carter", "Hamilton", "Root", "Morris", "Fleming", "Nolan", "Abbey", "Bing", "Chivers", "Tencredi" };
+	private static final String[] NATIONALITIES = { "American", "British", "Canadian", "Indian", "Sri Lankan" };
+	private static final String[] LEAVE_TYPES = { "CAN - Bereavement", "CAN - FMLA", "CAN - Personal",
+			"CAN - Vacation", "US - Bereavement", "US - FMLA", "US - Personal", "US - Vacation" };
+	private static final String[] JOB_TITLES = { "Account Assistant", "Chief Executive Officer",
+			"Chief Financial Officer", "Content Specialist", "Customer Success Manager", "Database Administrator",
+			"Finance Manager", "HR Manager", "IT Manager", "Network Administrator", "Payroll Administrator",
+			"QA Engineer", "QA Lead", "Sales Representative", "Social Media Marketer", "Software Architect",
+			"Software Engineer", "Support Specialist", "VP - Client Services", "VP - Sales & Marketing" };
+	private static final String[] EMPLOYMENT_STATUSES = { "Freelance", "Full-Time Contract", "Full-Time Internship",
+			"Full-Time Permanent", "Full-Time Probation", "Part-Time Contract", "Part-Time Internship" };
+
+	private final long seed;
+	private final int employeeCount;
+	private final Map<String, SimTable> tables = new LinkedHashMap<>();
+
+	/**
+	 * Creates a simulator.
+	 *
+	 * @param seed  the seed of the generated data
+	 * @param sizes the number of generated rows per resource, e.g.
+	 *              "pim/employees" to 1000000; resources not given get the
+	 *              defaults of config.properties
+	 */
+	public ApiSimulator(long seed, Map<String, Integer> sizes) {
+		this.seed = seed;
+		this.employeeCount = sizes.getOrDefault("pim/employees", 100);
+		tables.put("pim/employees", new SimTable("empNumber", employeeCount, this::employee));
+		tables.put("leave/holidays", new SimTable("id", sizes.getOrDefault("leave/holidays", 20), this::holiday));
+		tables.put("leave/leave-types",
+				new SimTable("id", sizes.getOrDefault("leave/leave-types", 8), this::leaveType));
+		tables.put("recruitment/vacancies",
+				new SimTable("id", sizes.getOrDefault("recruitment/vacancies", 20), this::vacancy));
+		tables.put("recruitment/candidates",
+				new SimTable("id", sizes.getOrDefault("recruitment/candidates", 50), this::candidate));
+		tables.put("admin/job-titles", new SimTable("id", sizes.getOrDefault("admin/job-titles", 20), this::jobTitle));
+		tables.put("admin/employment-statuses",
+				new SimTable("id", sizes.getOrDefault("admin/employment-statuses", 7), this::employmentStatus));
+		tables.put("pim/reports/defined", new SimTable("id", 0, id -> null));
+	}
+
+	/**
+	 * Creates a simulator from stub.sim.seed and the stub.sim.* sizes of
+	 * config.properties.
+	 *
+	 * @param config the configuration
+	 * @return the simulator
+	 */
+	public static ApiSimulator fromConfig(AppConfig config) {
+		Map<String, Integer> sizes = new HashMap<>();
+		sizes.put("pim/employees", config.getInt("stub.sim.employees", 100));
+		sizes.put("leave/holidays", config.getInt("stub.sim.holidays", 20));
+		sizes.put("leave/leave-types", config.getInt("stub.sim.leaveTypes", 8));
+		sizes.put("recruitment/vacancies", config.getInt("stub.sim.vacancies", 20));
+		sizes.put("recruitment/candidates", config.getInt("stub.sim.candidates", 50));
+		sizes.put("admin/job-titles", config.getInt("stub.sim.jobTitles", 20));
+		sizes.put("admin/employment-statuses", config.getInt("stub.sim.employmentStatuses", 7));
+		return new ApiSimulator(config.getInt("stub.sim.seed", 42), sizes);
+	}
+
+	/**
+	 * Returns the number of rows of a resource.
+	 *
+	 * @param resource the resource, e.g. "pim/employees"
+	 * @return the current row count
+	 * @throws IllegalArgumentException for an unknown resource
+	 */
+	public int total(String resource) {
+		SimTable table = tables.get(resource);
+		if (table == null) {
+			throw new IllegalArgumentException("Unknown simulated resource '" + resource + "', expected one of "
+					+ tables.keySet());
+		}
+		return table.total();
+	}
+
+	@Override
+	public StubResponse handle(String method, String path, String query, String body) {
+		int api = path.indexOf("/api/v2/");
+		if (api < 0) {
+			return null;
+		}
+		String route = path.substring(api + "/api/v2/".length()).replaceAll("/$", "");
+		Map<String, String> params = parseQuery(query);
+		JsonNode request;
+		try {
+			request = body == null || body.trim().isEmpty() ? MAPPER.createObjectNode() : MAPPER.readTree(body);
+		} catch (IOException e) {
+			return error(400, "Invalid JSON body");
+		}
+
+		if (route.equals("pim/employees/count") && method.equals("GET")) {
+			ObjectNode data = MAPPER.createObjectNode().put("count", tables.get("pim/employees").total());
+			return single(data);
+		}
+		if (route.equals("leave/workweek") && method.equals("GET")) {
+			return single(workweek("indexed".equals(params.get("model"))));
+		}
+		if (route.equals("leave/reports") && method.equals("GET")) {
+			return single(usageReport());
+		}
+		if (route.matches("pim/employees/\\d+/personal-details")) {
+			return row(tables.get("pim/employees"), method, Integer.parseInt(route.split("/")[2]), request);
+		}
+
+		for (Map.Entry<String, SimTable> entry : tables.entrySet()) {
+			String resource = entry.getKey();
+			if (route.equals(resource)) {
+				return collection(resource, entry.getValue(), method, params, request);
+			}
+			if (route.startsWith(resource + "/") && route.substring(resource.length() + 1).matches("\\d+")) {
+				return row(entry.getValue(), method, Integer.parseInt(route.substring(resource.length() + 1)),
+						request);
+			}
+		}
+		return null;
+	}
+
+	private StubResponse collection(String resource, SimTable table, String method, Map<String, String> params,
+			JsonNode request) {
+		switch (method) {
+		case "GET":
+			Predicate<ObjectNode> filter = null;
+			int fromId = 1;
+			int toId = Integer.MAX_VALUE;
+			if (resource.equals("leave/holidays") && (params.containsKey("fromDate") || params.containsKey("toDate"))) {
+				LocalDate from;
+				LocalDate to;
+				try {
+					from = LocalDate.parse(params.getOrDefault("fromDate", "0001-01-01"));
+					to = LocalDate.parse(params.getOrDefault("toDate", "9999-12-31"));
+				} catch (DateTimeParseException e) {
+					return error(422, "Invalid Parameter: fromDate, toDate");
+				}
+				filter = row -> {
+					LocalDate date = LocalDate.parse(row.path("date").asText());
+					return !date.isBefore(from) && !date.isAfter(to);
+				};
+				// generated holiday n falls on FIRST_HOLIDAY + n - 1 days
+				fromId = (int) Math.max(1, Math.min(Integer.MAX_VALUE, ChronoUnit.DAYS.between(FIRST_HOLIDAY, from) + 1));
+				toId = (int) Math.max(0, Math.min(Integer.MAX_VALUE, ChronoUnit.DAYS.between(FIRST_HOLIDAY, to) + 1));
+			}
+			int limit = intParam(params, "limit", resource.equals("leave/holidays") ? 0 : 50);
+			int offset = intParam(params, "offset", 0);
+			ArrayNode data = MAPPER.createArrayNode();
+			table.page(offset, limit, filter, fromId, toId).forEach(data::add);
+			ObjectNode envelope = MAPPER.createObjectNode();
+			envelope.set("data", data);
+			envelope.putObject("meta").put("total", table.count(filter, fromId, toId));
+			envelope.putArray("rels");
+			return ok(envelope);
+		case "POST":
+			if (!request.isObject()) {
+				return error(422, "Expected a JSON object");
+			}
+			for (String field : requiredFields(resource)) {
+				if (request.path(field).asText().trim().isEmpty()) {
+					return error(422, "Invalid Parameter: " + field);
+				}
+			}
+			return single(table.create((ObjectNode) request));
+		case "DELETE":
+			ArrayNode removed = MAPPER.createArrayNode();
+			for (JsonNode id : request.path("ids")) {
+				if (table.delete(id.asInt())) {
+					removed.add(id.asInt());
+				}
+			}
+			if (removed.size() == 0) {
+				return error(404, "Records Not Found");
+			}
+			ObjectNode deleted = MAPPER.createObjectNode();
+			deleted.set("data", removed);
+			deleted.putArray("meta");
+			deleted.putArray("rels");
+			return ok(deleted);
+		default:
+			return error(405, "Method Not Allowed");
+		}
+	}
+
+	private StubResponse row(SimTable table, String method, int id, JsonNode request) {
+		ObjectNode row;
+		switch (method) {
+		case "GET":
+			row = table.get(id);
+			break;
+		case "PUT":
+			if (!request.isObject()) {
+				return error(422, "Expected a JSON object");
+			}
+			row = table.update(id, (ObjectNode) request);
+			break;
+		case "DELETE":
+			row = table.get(id);
+			if (row != null) {
+				table.delete(id);
+			}
+			break;
+		default:
+			return error(405, "Method Not Allowed");
+		}
+		return row == null ? error(404, "Record Not Found") : single(row);
+	}
+
+	private static List<String> requiredFields(String resource) {
+		List<String> fields = new ArrayList<>();
+		switch (resource) {
+		case "pim/employees":
+			fields.add("firstName");
+			fields.add("lastName");
+			break;
+		case "recruitment/candidates":
+			fields.add("firstName");
+			fields.add("lastName");
+			fields.add("email");
+			break;
+		case "admin/job-titles":
+			fields.add("title");
+			break;
+		default:
+			fields.add("name");
+		}
+		return fields;
+	}
+
+	// ---------------------------------- generators ----------------------------------
+
+	private SplittableRandom random(String resource, int id) {
+		return new SplittableRandom(seed * 31 + resource.hashCode() * 0x9E3779B97F4A7C15L + id);
+	}
+
+	private ObjectNode employee(int empNumber) {
+		SplittableRandom random = random("employee", empNumber);
+		ObjectNode row = MAPPER.createObjectNode();
+		row.put("empNumber", empNumber);
+		row.put("lastName", LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+		row.put("firstName", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+		row.put("middleName", random.nextInt(4) == 0 ? FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] : "");
+		row.put("employeeId", String.format("%04d", empNumber));
+		row.putNull("terminationId");
+		row.put("otherId", "");
+		row.put("drivingLicenseNo", "");
+		row.put("gender", 1 + random.nextInt(2));
+		row.put("birthday", LocalDate.of(1960, 1, 1).plusDays(random.nextInt(15000)).toString());
+		int nationality = random.nextInt(NATIONALITIES.length);
+		row.putObject("nationality").put("id", nationality + 1).put("name", NATIONALITIES[nationality]);
+		return row;
+	}
+
+	private ObjectNode holiday(int id) {
+		SplittableRandom random = random("holiday", id);
+		boolean halfDay = random.nextInt(5) == 0;
+		ObjectNode row = MAPPER.createObjectNode();
+		row.put("id", id);
+		row.put("name", "Holiday " + id);
+		// one holiday per day, so dates are unique and a date range is a range of ids
+		row.put("date", FIRST_HOLIDAY.plusDays(id - 1L).toString());
+		row.put("recurring", random.nextBoolean());
+		row.put("length", halfDay ? 4 : 0);
+		row.put("lengthName", halfDay ? "Half Day" : "Full Day");
+		return row;
+	}
+
+	private ObjectNode leaveType(int id) {
+		ObjectNode row = MAPPER.createObjectNode();
+		row.put("id", id);
+		row.put("name", named(LEAVE_TYPES, id));
+		row.put("deleted", false);
+		row.put("situational", random("leaveType", id).nextInt(4) == 0);
+		return row;
+	}
+
+	private ObjectNode vacancy(int id) {
+		SplittableRandom random = random("vacancy", id);
+		ObjectNode row = MAPPER.createObjectNode();
+		row.put("id", id);
+		// zero padded, so the id order is also the vacancy.name order
+		row.put("name", String.format("Vacancy %06d", id));
+		row.put("description", "Generated vacancy " + id);
+		row.put("numOfPositions", 1 + random.nextInt(5));
+		row.put("status", true);
+		row.put("isPublished", random.nextBoolean());
+		int jobTitle = 1 + random.nextInt(JOB_TITLES.length);
+		row.putObject("jobTitle").put("id", jobTitle).put("title", named(JOB_TITLES, jobTitle)).put("isDeleted", false);
+		ObjectNode manager = employee(1 + random.nextInt(Math.max(1, employeeCount)));
+		row.putObject("hiringManager").put("empNumber", manager.get("empNumber").asInt())
+				.put("firstName", manager.get("firstName").asText()).put("lastName", manager.get("lastName").asText())
+				.put("middleName", manager.get("middleName").asText()).putNull("terminationId");
+		return row;
+	}
+
+	private ObjectNode candidate(int id) {
+		SplittableRandom random = random("candidate", id);
+		String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+		String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+		ObjectNode row = MAPPER.createObjectNode();
+		row.put("id", id);
+		row.put("firstName", firstName);
+		row.put("middleName", "");
+		row.put("lastName", lastName);
+		row.put("email", (firstName + "." + lastName + id + "@example.com").toLowerCase());
+		row.put("dateOfApplication", FIRST_HOLIDAY.minusDays(random.nextInt(365)).toString());
+		return row;
+	}
+
+	private ObjectNode jobTitle(int id) {
+		ObjectNode row = MAPPER.createObjectNode();
+		row.put("id", id);
+		row.put("title", named(JOB_TITLES, id));
+		row.put("description", "Generated job title " + id);
+		row.put("note", "Generated");
+		row.putObject("jobSpecification").putNull("id").putNull("filename").putNull("fileType").putNull("fileSize");
+		return row;
+	}
+
+	private ObjectNode employmentStatus(int id) {
+		return MAPPER.createObjectNode().put("id", id).put("name", named(EMPLOYMENT_STATUSES, id));
+	}
+
+	// the pool name of row id, numbered once the pool is used up
+	private static String named(String[] pool, int id) {
+		String name = pool[(id - 1) % pool.length];
+		return id <= pool.length ? name : name + " " + ((id - 1) / pool.length + 1);
+	}
+
+	private static ObjectNode workweek(boolean indexed) {
+		String[] days = { "sun", "mon", "tue", "wed", "thu", "fri", "sat" };
+		ObjectNode data = MAPPER.createObjectNode();
+		for (int day = 0; day < days.length; day++) {
+			int hours = day == 0 || day == 6 ? 8 : 0;
+			if (indexed) {
+				data.put(String.valueOf(day), hours);
+			} else {
+				data.put(days[day], hours);
+			}
+		}
+		return data;
+	}
+
+	private static ObjectNode usageReport() {
+		String[][] headers = { { "Leave Type", "leaveTypeName" }, { "Leave Entitlements (Days)", "entitlementDays" },
+				{ "Leave Pending Approval (Days)", "pendingApprovalDays" }, { "Leave Scheduled (Days)", "scheduledDays" },
+				{ "Leave Taken (Days)", "takenDays" }, { "Leave Balance (Days)", "balanceDays" } };
+		ObjectNode data = MAPPER.createObjectNode();
+		ArrayNode list = data.putArray("headers");
+		for (String[] header : headers) {
+			ObjectNode node = list.addObject().put("name", header[0]).put("prop", header[1]).put("size", 160);
+			node.putNull("pin");
+			node.putObject("cellProperties").putObject("class").put("cell-action", true);
+		}
+		data.putArray("filters");
+		return data;
+	}
+
+	// ---------------------------------- envelopes ----------------------------------
+
+	private static StubResponse single(ObjectNode data) {
+		ObjectNode envelope = MAPPER.createObjectNode();
+		envelope.set("data", data);
+		envelope.putArray("meta");
+		envelope.putArray("rels");
+		return ok(envelope);
+	}
+
+	private static StubResponse ok(ObjectNode envelope) {
+		try {
+			return StubResponse.json(PROTOCOL, 200, MAPPER.writeValueAsString(envelope));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static StubResponse error(int status, String message) {
+		ObjectNode envelope = MAPPER.createObjectNode();
+		envelope.putObject("error").put("status", String.valueOf(status)).put("message", message);
+		return StubResponse.json(PROTOCOL, status, envelope.toString());
+	}
+
+	private static int intParam(Map<String, String> params, String name, int defaultValue) {
+		try {
+			return params.containsKey(name) ? Math.max(0, Integer.parseInt(params.get(name))) : defaultValue;
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	private static Map<String, String> parseQuery(String query) {
+		Map<String, String> params = new HashMap<>();
+		if (query == null || query.isEmpty()) {
+			return params;
+		}
+		for (String pair : query.split("&")) {
+			int equals = pair.indexOf('=');
+			try {
+				if (equals > 0) {
+					params.put(URLDecoder.decode(pair.substring(0, equals), "UTF-8"),
+							URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+				}
+			} catch (UnsupportedEncodingException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return params;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder description = new StringBuilder("simulated dataset (seed ").append(seed).append(':');
+		tables.forEach((resource, table) -> description.append(' ').append(resource).append('=').append(table.total()));
+		return description.append(')').toString();
+	}
+}
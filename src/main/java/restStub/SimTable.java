@@ -0,0 +1,220 @@
+package restStub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * One resource of the {@link ApiSimulator}, e.g. the employees. Rows 1 to
+ * generated come from a seeded generator and are only stored once written or
+ * deleted; created rows get the next ids and are stored. Lookups, counts and
+ * unfiltered pages never touch the untouched rows, so a table of a million
+ * employees costs no memory and its last page is as fast as its first.
+ */
+class SimTable {
+	private final String idField;
+	private final int generated;
+	private final IntFunction<ObjectNode> generator;
+	// rows written since the start, generated and created alike
+	private final ConcurrentSkipListMap<Integer, ObjectNode> stored = new ConcurrentSkipListMap<>();
+	// deleted generated rows
+	private final ConcurrentSkipListSet<Integer> deleted = new ConcurrentSkipListSet<>();
+	private final AtomicInteger deletedCount = new AtomicInteger();
+	private final AtomicInteger createdCount = new AtomicInteger();
+	private final AtomicInteger nextId;
+
+	/**
+	 * Creates a table.
+	 *
+	 * @param idField   the id field of a row, e.g. "empNumber" or "id"
+	 * @param generated the number of generated rows
+	 * @param generator builds generated row n (1 to generated)
+	 */
+	SimTable(String idField, int generated, IntFunction<ObjectNode> generator) {
+		this.idField = idField;
+		this.generated = generated;
+		this.generator = generator;
+		this.nextId = new AtomicInteger(generated);
+	}
+
+	/**
+	 * Returns the number of rows.
+	 *
+	 * @return generated minus deleted plus created rows
+	 */
+	int total() {
+		return generated - deletedCount.get() + createdCount.get();
+	}
+
+	/**
+	 * Returns one row.
+	 *
+	 * @param id the row id
+	 * @return the row, or null if there is none
+	 */
+	ObjectNode get(int id) {
+		ObjectNode row = stored.get(id);
+		if (row != null || id < 1 || id > generated || deleted.contains(id)) {
+			return row;
+		}
+		return generator.apply(id);
+	}
+
+	/**
+	 * Adds a row with the next id.
+	 *
+	 * @param fields the fields of the new row
+	 * @return the stored row
+	 */
+	ObjectNode create(ObjectNode fields) {
+		ObjectNode row = fields.deepCopy();
+		int id = nextId.incrementAndGet();
+		row.put(idField, id);
+		stored.put(id, row);
+		createdCount.incrementAndGet();
+		return row;
+	}
+
+	/**
+	 * Overwrites fields of a row; fields not given keep their value.
+	 *
+	 * @param id     the row id
+	 * @param fields the new field values
+	 * @return the updated row, or null if there is none
+	 */
+	ObjectNode update(int id, ObjectNode fields) {
+		return stored.compute(id, (key, current) -> {
+			ObjectNode base = current != null ? current : get(id);
+			if (base == null) {
+				return null;
+			}
+			ObjectNode row = base.deepCopy();
+			row.setAll(fields);
+			row.put(idField, id);
+			return row;
+		});
+	}
+
+	/**
+	 * Deletes a row.
+	 *
+	 * @param id the row id
+	 * @return true if the row existed
+	 */
+	boolean delete(int id) {
+		if (id >= 1 && id <= generated) {
+			if (!deleted.add(id)) {
+				return false;
+			}
+			stored.remove(id);
+			deletedCount.incrementAndGet();
+			return true;
+		}
+		if (stored.remove(id) == null) {
+			return false;
+		}
+		createdCount.decrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Returns a page of rows in id order.
+	 *
+	 * @param offset the number of rows to skip
+	 * @param limit  the maximum number of rows, 0 for all
+	 * @param filter the rows to keep, or null for all; a filtered page scans the
+	 *               table
+	 * @return the rows of the page
+	 */
+	List<ObjectNode> page(int offset, int limit, Predicate<ObjectNode> filter) {
+		return page(offset, limit, filter, 1, generated);
+	}
+
+	/**
+	 * Returns a page of rows in id order, scanning only the generated rows from
+	 * fromId to toId; for a filter that no other generated row can pass.
+	 *
+	 * @param offset the number of rows to skip
+	 * @param limit  the maximum number of rows, 0 for all
+	 * @param filter the rows to keep, or null for all
+	 * @param fromId the first generated id that may pass the filter
+	 * @param toId   the last generated id that may pass the filter
+	 * @return the rows of the page
+	 */
+	List<ObjectNode> page(int offset, int limit, Predicate<ObjectNode> filter, int fromId, int toId) {
+		long max = limit > 0 ? limit : Long.MAX_VALUE;
+		if (filter != null) {
+			return rows(fromId, toId).filter(filter).skip(offset).limit(max).collect(Collectors.toList());
+		}
+		List<ObjectNode> page = new ArrayList<>();
+		int liveGenerated = generated - deletedCount.get();
+		if (offset < liveGenerated) {
+			for (int id = firstLiveId(offset); id <= generated && page.size() < max; id++) {
+				ObjectNode row = get(id);
+				if (row != null) {
+					page.add(row);
+				}
+			}
+		}
+		stored.tailMap(generated, false).values().stream().skip(Math.max(0, offset - liveGenerated))
+				.limit(max - page.size()).forEach(page::add);
+		return page;
+	}
+
+	/**
+	 * Counts the rows a filter keeps.
+	 *
+	 * @param filter the rows to keep, or null for all
+	 * @return the number of rows
+	 */
+	int count(Predicate<ObjectNode> filter) {
+		return count(filter, 1, generated);
+	}
+
+	/**
+	 * Counts the rows a filter keeps, scanning only the generated rows from
+	 * fromId to toId, see {@link #page(int, int, Predicate, int, int)}.
+	 *
+	 * @param filter the rows to keep, or null for all
+	 * @param fromId the first generated id that may pass the filter
+	 * @param toId   the last generated id that may pass the filter
+	 * @return the number of rows
+	 */
+	int count(Predicate<ObjectNode> filter, int fromId, int toId) {
+		return filter == null ? total() : (int) rows(fromId, toId).filter(filter).count();
+	}
+
+	// stored rows below the window, the window, then stored rows above it: id order
+	private Stream<ObjectNode> rows(int fromId, int toId) {
+		int from = Math.max(1, fromId);
+		int to = Math.min(generated, toId);
+		if (from > to) {
+			return stored.values().stream();
+		}
+		return Stream.concat(stored.headMap(from).values().stream(),
+				Stream.concat(IntStream.rangeClosed(from, to).mapToObj(this::get).filter(Objects::nonNull),
+						stored.tailMap(to, false).values().stream()));
+	}
+
+	// the generated id at position offset once deleted ids are left out
+	private int firstLiveId(int offset) {
+		int id = offset + 1;
+		while (true) {
+			int next = offset + 1 + deleted.headSet(id, true).size();
+			if (next == id) {
+				return id;
+			}
+			id = next;
+		}
+	}
+}
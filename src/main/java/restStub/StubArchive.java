@@ -0,0 +1,336 @@
+package restStub;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * On-disk archive of recorded request/response pairs: a JSON Lines file with
+ * one {@link Exchange} per line, appended to by the {@link StubRecorder} and
+ * replayed by the {@link StubServer}.
+ *
+ * A request is answered with the first recorded exchange that matches, trying
+ * looser keys in turn:
+ * <ol>
+ * <li>method, path, query and body</li>
+ * <li>method, path and query</li>
+ * <li>method and path</li>
+ * <li>method and path with ids folded ("/pim/employees/7" matches a recording
+ * of "/pim/employees/12")</li>
+ * </ol>
+ * When several exchanges share a key they are replayed in turn, so a GET
+ * recorded before and after a write replays both states.
+ *
+ * POST and PUT answers echo the new request: string values of the recorded
+ * request body are replaced in the response by the values sent now, so a
+ * candidate posted as "Jane" comes back as "Jane".
+ */
+public class StubArchive implements StubHandler {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+	private final Path file;
+	private final List<Exchange> exchanges = new ArrayList<>();
+	private final Map<String, List<Exchange>> index = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+	private BufferedWriter writer;
+
+	/**
+	 * Opens an archive; the file is read if it exists.
+	 *
+	 * @param file the JSON Lines file
+	 * @throws IOException if the file exists but cannot be read
+	 */
+	public StubArchive(Path file) throws IOException {
+		this.file = file;
+		if (Files.exists(file)) {
+			for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+				if (!line.trim().isEmpty()) {
+					add(Exchange.fromJson(MAPPER.readTree(line)));
+				}
+			}
+		}
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the number of recorded exchanges.
+	 *
+	 * @return the exchange count
+	 */
+	public synchronized int size() {
+		return exchanges.size();
+	}
+
+	/**
+	 * Adds an exchange and appends it to the file.
+	 *
+	 * @param exchange the recorded exchange
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void append(Exchange exchange) throws IOException {
+		if (writer == null) {
+			if (file.toAbsolutePath().getParent() != null) {
+				Files.createDirectories(file.toAbsolutePath().getParent());
+			}
+			writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+		}
+		writer.write(MAPPER.writeValueAsString(exchange.toJson()));
+		writer.newLine();
+		writer.flush();
+		add(exchange);
+	}
+
+	/**
+	 * Finds the recorded exchange for a request, see the class comment.
+	 *
+	 * @param method the HTTP method
+	 * @param path   the path relative to the base URL
+	 * @param query  the canonical query, see {@link #canonicalQuery(String)}
+	 * @param body   the request body, or null
+	 * @return the exchange, or null if nothing matches
+	 */
+	public Exchange match(String method, String path, String query, String body) {
+		for (String key : keys(method, path, query, body)) {
+			List<Exchange> candidates = index.get(key);
+			if (candidates != null) {
+				synchronized (this) {
+					int next = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+					return candidates.get(next % candidates.size());
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public StubResponse handle(String method, String path, String query, String body) {
+		Exchange exchange = match(method, path, query, body);
+		if (exchange == null) {
+			return null;
+		}
+		String replayed = exchange.getBody();
+		if (("POST".equalsIgnoreCase(method) || "PUT".equalsIgnoreCase(method)) && exchange.getRequestBody() != null) {
+			replayed = echo(exchange.getRequestBody(), body, replayed);
+		}
+		StubResponse response = new StubResponse(exchange.getStatusLine(), replayed)
+				.recordedMillis(exchange.getElapsedMillis());
+		exchange.getHeaders().forEach(response::header);
+		return response;
+	}
+
+	/**
+	 * Replaces, in a recorded response, the string values of the recorded
+	 * request body by those of the new request body.
+	 *
+	 * @param recordedRequest the request body of the recording
+	 * @param request         the request body received now
+	 * @param response        the recorded response body
+	 * @return the response with the new values
+	 */
+	static String echo(String recordedRequest, String request, String response) {
+		try {
+			Map<String, String> replacements = new LinkedHashMap<>();
+			collect(MAPPER.readTree(recordedRequest), MAPPER.readTree(request), replacements);
+			for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+				response = response.replace(replacement.getKey(), replacement.getValue());
+			}
+			return response;
+		} catch (IOException | RuntimeException e) {
+			// not JSON: replay as recorded
+			return response;
+		}
+	}
+
+	private static void collect(JsonNode recorded, JsonNode actual, Map<String, String> replacements)
+			throws IOException {
+		if (recorded == null || actual == null) {
+			return;
+		}
+		if (recorded.isTextual() && actual.isTextual() && !recorded.asText().isEmpty()
+				&& !recorded.asText().equals(actual.asText())) {
+			// JSON encoded, so quotes and escapes in the values are replaced as a whole
+			replacements.put(MAPPER.writeValueAsString(recorded.asText()), MAPPER.writeValueAsString(actual.asText()));
+		} else if (recorded.isObject()) {
+			Iterator<Map.Entry<String, JsonNode>> fields = recorded.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				collect(field.getValue(), actual.get(field.getKey()), replacements);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return size() + " recorded exchanges from " + file;
+	}
+
+	/**
+	 * Sorts the parameters of a raw query string, so "b=2&a=1" and "a=1&b=2"
+	 * match.
+	 *
+	 * @param rawQuery the query without "?", or null
+	 * @return the sorted query, "" for none
+	 */
+	public static String canonicalQuery(String rawQuery) {
+		if (rawQuery == null || rawQuery.isEmpty()) {
+			return "";
+		}
+		String[] pairs = rawQuery.split("&");
+		Arrays.sort(pairs);
+		return String.join("&", pairs);
+	}
+
+	private synchronized void add(Exchange exchange) {
+		exchanges.add(exchange);
+		List<String> keys = keys(exchange.method, exchange.path, exchange.query, exchange.requestBody);
+		for (String key : keys) {
+			index.computeIfAbsent(key, k -> new ArrayList<>()).add(exchange);
+		}
+	}
+
+	private static List<String> keys(String method, String path, String query, String body) {
+		String base = method.toUpperCase() + " " + path;
+		return Arrays.asList(base + "?" + query + "#" + normalizeBody(body), base + "?" + query, base,
+				method.toUpperCase() + " " + ID_SEGMENT.matcher(path).replaceAll("/{id}") + " (folded)");
+	}
+
+	// JSON bodies are compared by content, not by layout
+	private static String normalizeBody(String body) {
+		if (body == null || body.trim().isEmpty()) {
+			return "";
+		}
+		try {
+			return MAPPER.writeValueAsString(MAPPER.readTree(body));
+		} catch (IOException e) {
+			return body.trim();
+		}
+	}
+
+	/**
+	 * One recorded request and the response it got.
+	 */
+	public static class Exchange {
+		private final String method;
+		private final String path;
+		private final String query;
+		private final String requestBody;
+		private final String statusLine;
+		private final int status;
+		private final Map<String, String> headers;
+		private final String body;
+		private final long elapsedMillis;
+
+		/**
+		 * Creates an exchange.
+		 *
+		 * @param method        the HTTP method
+		 * @param path          the path relative to the base URL, e.g.
+		 *                      "/web/index.php/api/v2/leave/holidays"
+		 * @param query         the canonical query, "" for none
+		 * @param requestBody   the request body, or null
+		 * @param statusLine    the response status line, e.g. "HTTP/1.0 200 OK"
+		 * @param status        the response status code
+		 * @param headers       the response headers to replay, e.g. Content-Type
+		 * @param body          the response body
+		 * @param elapsedMillis how long the live server took
+		 */
+		public Exchange(String method, String path, String query, String requestBody, String statusLine, int status,
+				Map<String, String> headers, String body, long elapsedMillis) {
+			this.method = method;
+			this.path = path;
+			this.query = query == null ? "" : query;
+			this.requestBody = requestBody;
+			this.statusLine = statusLine;
+			this.status = status;
+			this.headers = headers;
+			this.body = body == null ? "" : body;
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		public String getMethod() {
+			return method;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public String getRequestBody() {
+			return requestBody;
+		}
+
+		public String getStatusLine() {
+			return statusLine;
+		}
+
+		public int getStatus() {
+			return status;
+		}
+
+		public Map<String, String> getHeaders() {
+			return headers;
+		}
+
+		public String getBody() {
+			return body;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		ObjectNode toJson() {
+			ObjectNode json = MAPPER.createObjectNode();
+			json.put("method", method);
+			json.put("path", path);
+			json.put("query", query);
+			json.put("requestBody", requestBody);
+			json.put("statusLine", statusLine);
+			json.put("status", status);
+			ObjectNode headerNode = json.putObject("headers");
+			headers.forEach(headerNode::put);
+			json.put("body", body);
+			json.put("elapsedMillis", elapsedMillis);
+			return json;
+		}
+
+		static Exchange fromJson(JsonNode json) {
+			Map<String, String> headers = new LinkedHashMap<>();
+			Iterator<Map.Entry<String, JsonNode>> fields = json.path("headers").fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				headers.put(field.getKey(), field.getValue().asText());
+			}
+			return new Exchange(json.path("method").asText(), json.path("path").asText(),
+					json.path("query").asText(""), json.hasNonNull("requestBody") ? json.get("requestBody").asText() : null,
+					json.path("statusLine").asText(), json.path("status").asInt(), headers,
+					json.path("body").asText(""), json.path("elapsedMillis").asLong());
+		}
+
+		@Override
+		public String toString() {
+			return method + " " + path + (query.isEmpty() ? "" : "?" + query) + " -> " + status;
+		}
+	}
+}
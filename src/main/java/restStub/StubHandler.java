@@ -0,0 +1,18 @@
+package restStub;
+
+/**
+ * Answers the API requests of a {@link StubServer}. The server has already
+ * handled the login and checked the session cookie.
+ */
+public interface StubHandler {
+	/**
+	 * Answers one request.
+	 *
+	 * @param method the HTTP method
+	 * @param path   the request path, e.g. "/web/index.php/api/v2/pim/employees"
+	 * @param query  the canonical query, see {@link StubArchive#canonicalQuery(String)}
+	 * @param body   the request body, "" for none
+	 * @return the answer, or null to have the server answer 404
+	 */
+	StubResponse handle(String method, String path, String query, String body);
+}
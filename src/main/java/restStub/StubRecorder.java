@@ -0,0 +1,108 @@
+package restStub;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import restConfig.ConfigManager;
+
+/**
+ * RestAssured filter that appends every API request sent against the live
+ * environment, and the response it got, to a {@link StubArchive} for the
+ * {@link StubServer} to replay.
+ *
+ * Installed for every RestAssured request, ApiUtil calls and the direct calls
+ * of the tests alike, by {@link #installFromConfig()} when stub.record=true.
+ * Login requests are not recorded, since the stub server fakes the login. Calls
+ * sent over http.transport=http2 bypass RestAssured and are not recorded.
+ */
+public class StubRecorder implements Filter {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static volatile StubRecorder installed;
+
+	private final StubArchive archive;
+	private final String basePath;
+
+	/**
+	 * Creates a recorder.
+	 *
+	 * @param archive the archive to append to
+	 * @param baseUrl the base URL of the recorded environment; recorded paths
+	 *                are relative to its path
+	 */
+	public StubRecorder(StubArchive archive, String baseUrl) {
+		this.archive = archive;
+		String path = URI.create(baseUrl).getPath();
+		this.basePath = path == null || path.equals("/") ? "" : path.replaceAll("/$", "");
+	}
+
+	/**
+	 * Installs a recorder for base.url as a global RestAssured filter if
+	 * stub.record is true and none is installed yet.
+	 */
+	public static synchronized void installFromConfig() {
+		if (installed != null || !ConfigManager.config().getBoolean("stub.record", false)) {
+			return;
+		}
+		String file = ConfigManager.config().getString("stub.archive", "stubs/orangehrm.jsonl");
+		try {
+			installed = new StubRecorder(new StubArchive(Paths.get(file)), ConfigManager.getProperty("base.url"));
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to open the stub archive " + file, e);
+		}
+		RestAssured.filters(installed);
+		System.out.println("⚠️ Recording API traffic to " + file);
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		long start = System.nanoTime();
+		Response response = ctx.next(requestSpec, responseSpec);
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		URI uri = URI.create(requestSpec.getURI());
+		String path = uri.getRawPath();
+		if (path.contains("/auth/")) {
+			return response;
+		}
+		if (!basePath.isEmpty() && path.startsWith(basePath)) {
+			path = path.substring(basePath.length());
+		}
+		Map<String, String> headers = new LinkedHashMap<>();
+		if (response.getContentType() != null && !response.getContentType().isEmpty()) {
+			headers.put("Content-Type", response.getContentType());
+		}
+		try {
+			archive.append(new StubArchive.Exchange(requestSpec.getMethod(), path,
+					StubArchive.canonicalQuery(uri.getRawQuery()), bodyOf(requestSpec.getBody()),
+					response.getStatusLine(), response.getStatusCode(), headers, response.asString(), elapsedMillis));
+		} catch (IOException e) {
+			System.out.println("❌ Unable to record " + requestSpec.getMethod() + " " + path + ": " + e.getMessage());
+		}
+		return response;
+	}
+
+	private static String bodyOf(Object body) throws JsonProcessingException {
+		if (body == null || body instanceof String) {
+			return (String) body;
+		}
+		if (body instanceof byte[]) {
+			return new String((byte[]) body, StandardCharsets.UTF_8);
+		}
+		return MAPPER.writeValueAsString(body);
+	}
+}
@@ -0,0 +1,103 @@
+package restStub;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One answer of the {@link StubServer}: status line, headers and body, plus
+ * the time the live server took when the answer was recorded (scaled by
+ * stub.latencyFactor when replayed).
+ */
+public class StubResponse {
+	private static final Map<Integer, String> REASONS = new HashMap<>();
+	static {
+		REASONS.put(200, "OK");
+		REASONS.put(302, "Found");
+		REASONS.put(400, "Bad Request");
+		REASONS.put(401, "Unauthorized");
+		REASONS.put(404, "Not Found");
+		REASONS.put(405, "Method Not Allowed");
+		REASONS.put(422, "Unprocessable Entity");
+		REASONS.put(500, "Internal Server Error");
+	}
+
+	private final String statusLine;
+	private final String body;
+	private final Map<String, String> headers = new LinkedHashMap<>();
+	private long recordedMillis;
+
+	/**
+	 * Creates an answer.
+	 *
+	 * @param statusLine the status line, e.g. "HTTP/1.0 200 OK"
+	 * @param body       the body
+	 */
+	public StubResponse(String statusLine, String body) {
+		this.statusLine = statusLine;
+		this.body = body;
+	}
+
+	/**
+	 * Creates an answer with a standard reason phrase.
+	 *
+	 * @param protocol the protocol, e.g. "HTTP/1.1"
+	 * @param status   the status code
+	 * @param body     the body
+	 * @return the answer
+	 */
+	public static StubResponse of(String protocol, int status, String body) {
+		return new StubResponse(protocol + " " + status + " " + REASONS.getOrDefault(status, ""), body);
+	}
+
+	/**
+	 * Creates a JSON answer with a standard reason phrase.
+	 *
+	 * @param protocol the protocol, e.g. "HTTP/1.1"
+	 * @param status   the status code
+	 * @param body     the JSON body
+	 * @return the answer
+	 */
+	public static StubResponse json(String protocol, int status, String body) {
+		return of(protocol, status, body).header("Content-Type", "application/json");
+	}
+
+	/**
+	 * Sets a header.
+	 *
+	 * @param name  the header name
+	 * @param value the header value
+	 * @return this answer
+	 */
+	public StubResponse header(String name, String value) {
+		headers.put(name, value);
+		return this;
+	}
+
+	/**
+	 * Sets the recorded time of the answer.
+	 *
+	 * @param millis the time the live server took
+	 * @return this answer
+	 */
+	public StubResponse recordedMillis(long millis) {
+		this.recordedMillis = millis;
+		return this;
+	}
+
+	public String getStatusLine() {
+		return statusLine;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	public long getRecordedMillis() {
+		return recordedMillis;
+	}
+}
@@ -0,0 +1,343 @@
+package restStub;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import rest.ApiExecutors;
+import restConfig.AppConfig;
+import restConfig.ConfigManager;
+
+/**
+ * Local stand-in for the OrangeHRM server, so the suite, the load runner and
+ * the benchmarks run without network.
+ *
+ * <ul>
+ * <li>GET .../auth/login and POST .../auth/validate are faked: the login page
+ * carries a CSRF token and validate accepts the configured username and
+ * password, so {@link rest.HttpAuthenticator} logs in as usual.</li>
+ * <li>Every other request needs an orangehrm cookie (any value, recorded
+ * sessions are long gone) and is answered by a {@link StubHandler}: the
+ * recorded exchanges of a {@link StubArchive} or the generated data of an
+ * {@link ApiSimulator}. Requests the handler does not know get a 404.</li>
+ * </ul>
+ *
+ * The server speaks plain HTTP/1.1 with keep-alive over a socket instead of
+ * com.sun.net.httpserver, which always answers "HTTP/1.1", because the tests
+ * assert the recorded status line (e.g. "HTTP/1.0 200 OK").
+ *
+ * Latency is injected before each answer: stub.latencyMillis plus up to
+ * stub.jitterMillis at random, plus the recorded time of the exchange times
+ * stub.latencyFactor (0 ignores the recorded times).
+ *
+ * Run it alone with "mvn -Pstub test -DskipTests" and point base.url at it, or
+ * set stub.replay=true to have {@link #startFromConfig()} start it inside the
+ * suite or the load runner and switch base.url to it.
+ */
+public class StubServer implements Closeable {
+	public static final String SESSION_COOKIE = "orangehrm";
+	private static final String PROTOCOL = "HTTP/1.1";
+
+	private final StubHandler handler;
+	private final ServerSocket serverSocket;
+	private final ExecutorService executor;
+	private final String username;
+	private final String password;
+	private final long latencyMillis;
+	private final long jitterMillis;
+	private final double latencyFactor;
+	private volatile boolean running = true;
+
+	/**
+	 * Starts a server on localhost.
+	 *
+	 * @param handler       the handler answering the API requests, e.g. a
+	 *                      {@link StubArchive} or an {@link ApiSimulator}
+	 * @param port          the port, 0 for any free port
+	 * @param username      the username the fake login accepts
+	 * @param password      the password the fake login accepts
+	 * @param latencyMillis fixed delay added to each answer
+	 * @param jitterMillis  maximum random delay added to each answer
+	 * @param latencyFactor share of the recorded time added to each answer, 0 for
+	 *                      none and 1 for the live timing
+	 * @throws IOException if the port cannot be opened
+	 */
+	public StubServer(StubHandler handler, int port, String username, String password, long latencyMillis,
+			long jitterMillis, double latencyFactor) throws IOException {
+		this.handler = handler;
+		this.username = username;
+		this.password = password;
+		this.latencyMillis = latencyMillis;
+		this.jitterMillis = jitterMillis;
+		this.latencyFactor = latencyFactor;
+		this.serverSocket = new ServerSocket(port, 200, InetAddress.getLoopbackAddress());
+		this.executor = ApiExecutors.newExecutor("stub");
+		Thread acceptor = ApiExecutors.platformThreadFactory("stub-acceptor").newThread(this::accept);
+		acceptor.start();
+	}
+
+	/**
+	 * Starts a server from the stub.* settings of config.properties: it replays
+	 * stub.archive, or with stub.source=simulator answers from an
+	 * {@link ApiSimulator}.
+	 *
+	 * @param config the configuration
+	 * @param port   the port, 0 for any free port
+	 * @return the running server
+	 * @throws IOException if the archive cannot be read or the port opened
+	 */
+	public static StubServer fromConfig(AppConfig config, int port) throws IOException {
+		StubHandler handler = "simulator".equalsIgnoreCase(config.getString("stub.source", "archive"))
+				? ApiSimulator.fromConfig(config)
+				: new StubArchive(Paths.get(config.getString("stub.archive", "stubs/orangehrm.jsonl")));
+		return new StubServer(handler, port, config.getString("username", "Admin"),
+				config.getString("password", ""), config.getInt("stub.latencyMillis", 0),
+				config.getInt("stub.jitterMillis", 0), Double.parseDouble(config.getString("stub.latencyFactor", "0")));
+	}
+
+	/**
+	 * Starts an embedded server and points base.url at it if stub.replay is
+	 * true. Called at the start of the suite and of a load run.
+	 *
+	 * @return the running server, or null when stub.replay is false
+	 * @throws IllegalStateException if the server cannot be started
+	 */
+	public static synchronized StubServer startFromConfig() {
+		if (!ConfigManager.config().getBoolean("stub.replay", false)) {
+			return null;
+		}
+		try {
+			StubServer server = fromConfig(ConfigManager.config(), ConfigManager.config().getInt("stub.port", 0));
+			System.setProperty("base.url", server.getBaseUrl());
+			ConfigManager.reload();
+			System.out.println("⚠️ Stub server at " + server.getBaseUrl() + " answering with " + server.handler);
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to start the stub server", e);
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		AppConfig config = ConfigManager.config();
+		int port = config.getInt("stub.port", 0);
+		StubServer server = fromConfig(config, port > 0 ? port : 8089);
+		System.out.println("✅ Stub server answering with " + server.handler + "; set base.url=" + server.getBaseUrl());
+		Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+		Thread.currentThread().join();
+	}
+
+	/**
+	 * Returns the base URL to use as base.url.
+	 *
+	 * @return e.g. "http://127.0.0.1:8089"
+	 */
+	public String getBaseUrl() {
+		return "http://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+	}
+
+	@Override
+	public void close() {
+		running = false;
+		try {
+			serverSocket.close();
+		} catch (IOException e) {
+			// already closed
+		}
+		executor.shutdownNow();
+	}
+
+	private void accept() {
+		while (running) {
+			try {
+				Socket socket = serverSocket.accept();
+				executor.execute(() -> serve(socket));
+			} catch (IOException e) {
+				if (running) {
+					System.out.println("❌ Stub server accept failed: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	// one connection, answering requests until the client closes it
+	private void serve(Socket socket) {
+		try (Socket connection = socket) {
+			connection.setTcpNoDelay(true);
+			InputStream in = new BufferedInputStream(connection.getInputStream());
+			OutputStream out = new BufferedOutputStream(connection.getOutputStream());
+			String requestLine;
+			while (running && (requestLine = readLine(in)) != null) {
+				if (requestLine.isEmpty()) {
+					continue;
+				}
+				String[] parts = requestLine.split(" ");
+				Map<String, String> headers = new HashMap<>();
+				String line;
+				while ((line = readLine(in)) != null && !line.isEmpty()) {
+					int colon = line.indexOf(':');
+					if (colon > 0) {
+						headers.merge(line.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+								line.substring(colon + 1).trim(), (a, b) -> a + "; " + b);
+					}
+				}
+				String body = new String(readBody(in, headers), StandardCharsets.UTF_8);
+				StubResponse reply = respond(parts[0], parts.length > 1 ? parts[1] : "/", headers, body);
+				delay(reply.getRecordedMillis());
+
+				boolean close = "close".equalsIgnoreCase(headers.get("connection"));
+				byte[] payload = reply.getBody().getBytes(StandardCharsets.UTF_8);
+				StringBuilder head = new StringBuilder(reply.getStatusLine()).append("\r\n");
+				reply.getHeaders().forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+				head.append("Content-Length: ").append(payload.length).append("\r\n");
+				head.append("Connection: ").append(close ? "close" : "keep-alive").append("\r\n\r\n");
+				out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+				out.write(payload);
+				out.flush();
+				if (close) {
+					return;
+				}
+			}
+		} catch (SocketException e) {
+			// client went away
+		} catch (IOException e) {
+			System.out.println("❌ Stub server connection failed: " + e.getMessage());
+		}
+	}
+
+	private StubResponse respond(String method, String target, Map<String, String> headers, String body) {
+		int question = target.indexOf('?');
+		String path = question < 0 ? target : target.substring(0, question);
+		String query = StubArchive.canonicalQuery(question < 0 ? null : target.substring(question + 1));
+
+		if (path.endsWith("/auth/login")) {
+			return StubResponse.of(PROTOCOL, 200, "<auth-login :token=\"&quot;" + UUID.randomUUID() + "&quot;\"></auth-login>")
+					.header("Content-Type", "text/html; charset=UTF-8")
+					.header("Set-Cookie", SESSION_COOKIE + "=" + UUID.randomUUID() + "; path=/; HttpOnly");
+		}
+		if (path.endsWith("/auth/validate")) {
+			Map<String, String> form = parseForm(body);
+			boolean valid = username.equals(form.get("username")) && password.equals(form.get("password"));
+			String base = path.substring(0, path.length() - "/auth/validate".length());
+			StubResponse reply = StubResponse.of(PROTOCOL, 302, "").header("Location",
+					base + (valid ? "/dashboard/index" : "/auth/login"));
+			if (valid) {
+				reply.header("Set-Cookie", SESSION_COOKIE + "=" + UUID.randomUUID() + "; path=/; HttpOnly");
+			}
+			return reply;
+		}
+		String cookies = headers.getOrDefault("cookie", "");
+		if (!cookies.matches("(.*;\\s*)?" + SESSION_COOKIE + "=[^;]+.*")) {
+			return StubResponse.json(PROTOCOL, 401, "{\"error\":{\"status\":\"401\",\"message\":\"Session expired\"}}");
+		}
+
+		StubResponse response;
+		try {
+			response = handler.handle(method, path, query, body);
+		} catch (RuntimeException e) {
+			System.out.println("❌ Stub handler failed for " + method + " " + target + ": " + e);
+			return StubResponse.json(PROTOCOL, 500, "{\"error\":{\"status\":\"500\",\"message\":\"" + e.getClass()
+					.getSimpleName() + "\"}}");
+		}
+		if (response == null) {
+			System.out.println("⚠️ No stub response for " + method + " " + target);
+			return StubResponse.json(PROTOCOL, 404, "{\"error\":{\"status\":\"404\",\"message\":\"No stub response for "
+					+ method + " " + path + "\"}}");
+		}
+		return response;
+	}
+
+	private void delay(long recordedMillis) {
+		long millis = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0)
+				+ Math.round(recordedMillis * latencyFactor);
+		if (millis > 0) {
+			try {
+				TimeUnit.MILLISECONDS.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static Map<String, String> parseForm(String body) {
+		Map<String, String> form = new HashMap<>();
+		for (String pair : body.split("&")) {
+			int equals = pair.indexOf('=');
+			if (equals > 0) {
+				form.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+			}
+		}
+		return form;
+	}
+
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b;
+		while ((b = in.read()) != -1 && b != '\n') {
+			line.write(b);
+		}
+		if (b == -1 && line.size() == 0) {
+			return null;
+		}
+		String text = line.toString("ISO-8859-1");
+		return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+	}
+
+	private static byte[] readBody(InputStream in, Map<String, String> headers) throws IOException {
+		if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			int size;
+			while ((size = Integer.parseInt(readLine(in).split(";")[0].trim(), 16)) > 0) {
+				body.write(readFully(in, size));
+				readLine(in);
+			}
+			// trailers
+			String line;
+			while ((line = readLine(in)) != null && !line.isEmpty()) {
+				continue;
+			}
+			return body.toByteArray();
+		}
+		String length = headers.get("content-length");
+		return length == null ? new byte[0] : readFully(in, Integer.parseInt(length));
+	}
+
+	private static byte[] readFully(InputStream in, int length) throws IOException {
+		byte[] bytes = new byte[length];
+		int read = 0;
+		while (read < length) {
+			int n = in.read(bytes, read, length - read);
+			if (n < 0) {
+				throw new IOException("Connection closed after " + read + " of " + length + " body bytes");
+			}
+			read += n;
+		}
+		return bytes;
+	}
+}
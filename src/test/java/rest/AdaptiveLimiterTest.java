@@ -0,0 +1,111 @@
+package rest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * AIMD limit changes of {@link AdaptiveLimiter}. Calls are fed with
+ * synthetic start and end times one second apart, so latencies are exact.
+ */
+public class AdaptiveLimiterTest {
+	private static final String HOLIDAYS = "GET /api/v2/leave/holidays";
+	private static final String REPORT = "GET /api/v2/leave/reports";
+
+	private long clock;
+
+	// one call of the given latency, started one second after the previous one
+	// and after the limiter was created
+	private void call(AdaptiveLimiter limiter, String endpoint, long latencyMillis, boolean overloaded) {
+		limiter.acquire();
+		clock = Math.max(clock, System.nanoTime()) + TimeUnit.SECONDS.toNanos(1);
+		limiter.release(endpoint, clock, clock + TimeUnit.MILLISECONDS.toNanos(latencyMillis), overloaded);
+	}
+
+	@Test(description = "Successful calls grow the limit by one slot per full window")
+	public void growsAdditively() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, 0.5, 0);
+
+		for (int i = 0; i < 10; i++) {
+			call(limiter, HOLIDAYS, 5, false);
+		}
+		Assert.assertEquals(limiter.getLimit(), 10);
+		call(limiter, HOLIDAYS, 5, false);
+		Assert.assertEquals(limiter.getLimit(), 11);
+		for (int i = 0; i < 11; i++) {
+			call(limiter, HOLIDAYS, 5, false);
+		}
+		Assert.assertEquals(limiter.getLimit(), 12);
+		Assert.assertEquals(limiter.getInFlight(), 0);
+	}
+
+	@Test(description = "The limit never grows beyond maxLimit")
+	public void growthStopsAtMax() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 11, 0.5, 0);
+
+		for (int i = 0; i < 100; i++) {
+			call(limiter, HOLIDAYS, 5, false);
+		}
+		Assert.assertEquals(limiter.getLimit(), 11);
+	}
+
+	@Test(description = "An overloaded call shrinks the limit by backoffRatio, down to minLimit")
+	public void shrinksMultiplicatively() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(16, 3, 100, 0.5, 0);
+
+		call(limiter, HOLIDAYS, 5, true);
+		Assert.assertEquals(limiter.getLimit(), 8);
+		call(limiter, HOLIDAYS, 5, true);
+		Assert.assertEquals(limiter.getLimit(), 4);
+		call(limiter, HOLIDAYS, 5, true);
+		Assert.assertEquals(limiter.getLimit(), 3);
+	}
+
+	@Test(description = "Calls in flight when the limit was cut do not cut it again")
+	public void oneDecreasePerRoundTrip() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(16, 1, 100, 0.5, 0);
+		limiter.acquire();
+		limiter.acquire();
+		long first = System.nanoTime();
+		long second = first + 1;
+		clock = second;
+
+		limiter.release(HOLIDAYS, first, first + TimeUnit.MILLISECONDS.toNanos(10), true);
+		limiter.release(HOLIDAYS, second, second + TimeUnit.MILLISECONDS.toNanos(20), true);
+		Assert.assertEquals(limiter.getLimit(), 8);
+
+		// started after the cut, so it may cut again
+		call(limiter, HOLIDAYS, 5, true);
+		Assert.assertEquals(limiter.getLimit(), 4);
+	}
+
+	@Test(description = "Latency growth beyond the endpoint's baseline shrinks the limit")
+	public void latencyGrowthShrinks() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(16, 1, 100, 0.5, 2.0);
+		for (int i = 0; i < AdaptiveLimiter.WINDOW - 1; i++) {
+			call(limiter, HOLIDAYS, 5, false);
+		}
+		Assert.assertEquals(limiter.getBaselineNanos(HOLIDAYS), -1);
+		call(limiter, HOLIDAYS, 5, false);
+		Assert.assertEquals(limiter.getBaselineNanos(HOLIDAYS), TimeUnit.MILLISECONDS.toNanos(5));
+		int grown = limiter.getLimit();
+
+		// the recent average moves from 5 ms to 14 ms, beyond twice the baseline
+		call(limiter, HOLIDAYS, 50, false);
+		Assert.assertEquals(limiter.getLimit(), grown / 2);
+	}
+
+	@Test(description = "A slow endpoint is judged against its own baseline, not a faster one's")
+	public void baselinesArePerEndpoint() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, 0.5, 2.0);
+
+		for (int i = 0; i < 2 * AdaptiveLimiter.WINDOW; i++) {
+			call(limiter, HOLIDAYS, 5, false);
+			call(limiter, REPORT, 200, false);
+		}
+		Assert.assertEquals(limiter.getBaselineNanos(HOLIDAYS), TimeUnit.MILLISECONDS.toNanos(5));
+		Assert.assertEquals(limiter.getBaselineNanos(REPORT), TimeUnit.MILLISECONDS.toNanos(200));
+		Assert.assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+	}
+}
@@ -0,0 +1,128 @@
+package rest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * State changes of {@link CircuitBreaker}: closed, open, half-open and closed
+ * again.
+ */
+public class CircuitBreakerTest {
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+	private static final long OPEN_MILLIS = 200;
+
+	// a window of 4 calls that opens at 50% failures or 100% slow calls of 1 s
+	private static CircuitBreaker breaker() {
+		return new CircuitBreaker("leave", 4, 4, 50, 100, 1000, OPEN_MILLIS);
+	}
+
+	private static void openIt(CircuitBreaker breaker) {
+		for (int i = 0; i < 4; i++) {
+			breaker.acquire();
+			breaker.record(FAST, true, "HTTP 503");
+		}
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+	}
+
+	private static void waitForProbe() throws InterruptedException {
+		Thread.sleep(OPEN_MILLIS + 100);
+	}
+
+	@Test(description = "The circuit opens once the window holds enough calls at the failure rate")
+	public void opensOnFailureRate() {
+		CircuitBreaker breaker = breaker();
+
+		breaker.record(FAST, false, null);
+		breaker.record(FAST, true, "HTTP 500");
+		breaker.record(FAST, true, "HTTP 500");
+		// 2 of 3 failed, but the window needs 4 calls
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+		breaker.record(FAST, false, null);
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+	}
+
+	@Test(description = "Old outcomes slide out of the window")
+	public void windowSlides() {
+		CircuitBreaker breaker = breaker();
+
+		breaker.record(FAST, true, "HTTP 500");
+		for (int i = 0; i < 4; i++) {
+			breaker.record(FAST, false, null);
+		}
+		// the failure has left the window, so one more does not reach 50%
+		breaker.record(FAST, true, "HTTP 500");
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+	}
+
+	@Test(description = "The circuit opens when every call in the window is slow")
+	public void opensOnSlowCalls() {
+		CircuitBreaker breaker = breaker();
+
+		for (int i = 0; i < 4; i++) {
+			breaker.record(SLOW, false, null);
+		}
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+	}
+
+	@Test(description = "An open circuit rejects calls without sending them")
+	public void openRejects() {
+		CircuitBreaker breaker = breaker();
+		openIt(breaker);
+
+		CircuitOpenException e = Assert.expectThrows(CircuitOpenException.class, breaker::acquire);
+		Assert.assertEquals(e.getState(), CircuitBreaker.State.OPEN);
+		Assert.assertEquals(e.getCircuit(), "leave");
+		Assert.assertTrue(e.getMessage().contains("HTTP 503"), e.getMessage());
+		Assert.assertEquals(breaker.getRejected(), 1);
+	}
+
+	@Test(description = "After openDuration one probe goes through; its success closes the circuit")
+	public void halfOpenProbeCloses() throws InterruptedException {
+		CircuitBreaker breaker = breaker();
+		openIt(breaker);
+		waitForProbe();
+
+		breaker.acquire();
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+		// only one probe at a time
+		CircuitOpenException e = Assert.expectThrows(CircuitOpenException.class, breaker::acquire);
+		Assert.assertEquals(e.getState(), CircuitBreaker.State.HALF_OPEN);
+
+		breaker.record(FAST, false, null);
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+		// the window starts afresh
+		breaker.acquire();
+		breaker.record(FAST, true, "HTTP 500");
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+	}
+
+	@Test(description = "A failed or slow probe opens the circuit again")
+	public void halfOpenProbeReopens() throws InterruptedException {
+		CircuitBreaker breaker = breaker();
+		openIt(breaker);
+		waitForProbe();
+
+		breaker.acquire();
+		breaker.record(FAST, true, "HTTP 503");
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+
+		waitForProbe();
+		breaker.acquire();
+		breaker.record(SLOW, false, null);
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+	}
+
+	@Test(description = "Calls that started before the circuit opened do not count once it is open")
+	public void lateOutcomesIgnoredWhileOpen() {
+		CircuitBreaker breaker = breaker();
+		openIt(breaker);
+
+		breaker.record(FAST, true, "HTTP 500");
+		breaker.record(SLOW, false, null);
+		Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+		Assert.assertEquals(breaker.toString(), "OPEN (0 failed, 0 slow of 0 calls, 0 rejected)");
+	}
+}
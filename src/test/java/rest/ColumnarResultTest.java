@@ -0,0 +1,110 @@
+package rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Column typing of {@link ColumnarResult}, filled through
+ * {@link JsonColumnExtractor} as the ApiUtil parsers do.
+ */
+public class ColumnarResultTest {
+
+	private static ColumnarResult extract(String json, String... fields) {
+		return JsonColumnExtractor.extract(json.getBytes(StandardCharsets.UTF_8), "data", fields);
+	}
+
+	@Test(description = "Whole numbers stay in a primitive int column while they fit")
+	public void intColumnWhileValuesFit() {
+		ColumnarResult result = extract("{\"data\":[{\"id\":1},{\"id\":null},{\"id\":3}]}", "id");
+
+		Assert.assertEquals(result.kind(), ColumnarResult.Kind.ARRAY);
+		Assert.assertEquals(result.size(), 3);
+		ColumnarResult.IntColumn ids = result.intColumn("id");
+		Assert.assertEquals(ids.getInt(0), 1);
+		Assert.assertTrue(ids.isNull(1));
+		Assert.assertEquals(ids.getInt(2), 3);
+		Assert.assertEquals(result.list("id"), Arrays.asList(1, null, 3));
+	}
+
+	@Test(description = "An int column is widened to long, keeping earlier values and nulls")
+	public void intColumnWidensToLong() {
+		ColumnarResult result = extract("{\"data\":[{\"id\":1},{\"id\":null},{\"id\":5000000000}]}", "id");
+
+		Assert.assertEquals(result.column("id").type(), "long");
+		ColumnarResult.LongColumn ids = result.longColumn("id");
+		Assert.assertEquals(ids.getLong(0), 1L);
+		Assert.assertTrue(ids.isNull(1));
+		Assert.assertEquals(ids.getLong(2), 5000000000L);
+		// the boxed view keeps JsonPath's smallest fitting type per value
+		Assert.assertEquals(result.list("id"), Arrays.asList(1, null, 5000000000L));
+	}
+
+	@Test(description = "A value that does not fit the column type widens it to an object column")
+	public void mixedValuesWidenToObject() {
+		ColumnarResult result = extract("{\"data\":[{\"v\":1},{\"v\":\"two\"},{\"v\":true},{}]}", "v");
+
+		Assert.assertEquals(result.column("v").type(), "object");
+		Assert.assertEquals(result.list("v"), Arrays.asList(1, "two", true, null));
+		Assert.assertThrows(IllegalStateException.class, () -> result.intColumn("v"));
+	}
+
+	@Test(description = "Leading nulls are kept when the column is typed by its first value")
+	public void leadingNullsBeforeFirstValue() {
+		ColumnarResult result = extract("{\"data\":[{\"flag\":null},{},{\"flag\":true},{\"flag\":false}]}", "flag");
+
+		ColumnarResult.BooleanColumn flags = result.booleanColumn("flag");
+		Assert.assertTrue(flags.isNull(0));
+		Assert.assertTrue(flags.isNull(1));
+		Assert.assertTrue(flags.getBoolean(2));
+		Assert.assertFalse(flags.getBoolean(3));
+		Assert.assertEquals(flags.countTrue(), 1);
+	}
+
+	@Test(description = "Repeating strings are stored as dictionary codes in first-seen order")
+	public void repeatingStringsAreDictionaryEncoded() {
+		ColumnarResult result = extract("{\"data\":[{\"s\":\"Full Day\"},{\"s\":\"Half Day\"},{\"s\":null},"
+				+ "{\"s\":\"Full Day\"}]}", "s");
+
+		ColumnarResult.StringColumn lengths = result.stringColumn("s");
+		Assert.assertTrue(lengths.isDictionaryEncoded());
+		Assert.assertEquals(lengths.type(), "string(dict)");
+		Assert.assertEquals(lengths.dictionary(), Arrays.asList("Full Day", "Half Day"));
+		Assert.assertEquals(lengths.code(0), 0);
+		Assert.assertEquals(lengths.code(1), 1);
+		Assert.assertEquals(lengths.code(2), -1);
+		Assert.assertEquals(lengths.code(3), 0);
+		Assert.assertEquals(result.list("s"), Arrays.asList("Full Day", "Half Day", null, "Full Day"));
+	}
+
+	@Test(description = "Mostly unique strings switch the column to plain storage without losing values")
+	public void uniqueStringsSwitchToPlain() {
+		int rows = ColumnarResult.StringColumn.DICTIONARY_LIMIT + 10;
+		StringBuilder json = new StringBuilder("{\"data\":[");
+		for (int i = 0; i < rows; i++) {
+			json.append(i == 0 ? "" : ",").append(i == 5 ? "{\"s\":null}" : "{\"s\":\"name-" + i + "\"}");
+		}
+		ColumnarResult result = extract(json.append("]}").toString(), "s");
+
+		ColumnarResult.StringColumn names = result.stringColumn("s");
+		Assert.assertFalse(names.isDictionaryEncoded());
+		Assert.assertEquals(names.type(), "string");
+		Assert.assertNull(names.dictionary());
+		Assert.assertEquals(names.code(0), -1);
+		Assert.assertEquals(result.size(), rows);
+		Assert.assertEquals(names.getString(0), "name-0");
+		Assert.assertNull(names.getString(5));
+		Assert.assertEquals(names.getString(rows - 1), "name-" + (rows - 1));
+	}
+
+	@Test(description = "A column of only nulls can be read as any type")
+	public void nullColumnReadsAsAnyType() {
+		ColumnarResult result = extract("{\"data\":[{\"x\":null},{}]}", "x");
+
+		Assert.assertTrue(result.intColumn("x").isNull(0));
+		Assert.assertTrue(result.stringColumn("x").isNull(1));
+		Assert.assertEquals(result.list("x"), Arrays.asList(null, null));
+	}
+}
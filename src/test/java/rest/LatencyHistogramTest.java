@@ -0,0 +1,106 @@
+package rest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Bucket layout and percentile maths of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+	private static LatencyHistogram recordMicros(long... micros) {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value : micros) {
+			histogram.record(TimeUnit.MICROSECONDS.toNanos(value));
+		}
+		return histogram;
+	}
+
+	// upper bound of the single bucket holding the value
+	private static long bucketOf(long micros) {
+		List<long[]> buckets = recordMicros(micros).buckets();
+		Assert.assertEquals(buckets.size(), 1);
+		Assert.assertEquals(buckets.get(0)[1], 1L);
+		return buckets.get(0)[0];
+	}
+
+	@Test(description = "Values below 128 us are counted exactly")
+	public void smallValuesAreExact() {
+		Assert.assertEquals(bucketOf(0), 0);
+		Assert.assertEquals(bucketOf(1), 1);
+		Assert.assertEquals(bucketOf(64), 64);
+		Assert.assertEquals(bucketOf(127), 127);
+	}
+
+	@Test(description = "Each power of two doubles the sub-bucket width")
+	public void bucketWidthDoubles() {
+		Assert.assertEquals(bucketOf(128), 129);
+		Assert.assertEquals(bucketOf(129), 129);
+		Assert.assertEquals(bucketOf(130), 131);
+		Assert.assertEquals(bucketOf(255), 255);
+		Assert.assertEquals(bucketOf(256), 259);
+		Assert.assertEquals(bucketOf(1000), 1007);
+		Assert.assertEquals(bucketOf(1024), 1039);
+	}
+
+	@Test(description = "A value's bucket ends less than 1/64 above it")
+	public void bucketsKeepTwoSignificantDigits() {
+		for (long micros = 1; micros <= TimeUnit.HOURS.toMicros(1); micros = micros * 3 + 1) {
+			long upper = bucketOf(micros);
+			Assert.assertTrue(upper >= micros && upper - micros < Math.max(1, micros / 64.0),
+					micros + " us counted in the bucket ending at " + upper);
+		}
+	}
+
+	@Test(description = "Percentiles of 1 to 100 us are the values themselves")
+	public void percentilesOfUniformValues() {
+		long[] micros = new long[100];
+		for (int i = 0; i < micros.length; i++) {
+			micros[i] = i + 1;
+		}
+		LatencyHistogram histogram = recordMicros(micros);
+
+		Assert.assertEquals(histogram.getCount(), 100);
+		Assert.assertEquals(histogram.getValueAtPercentile(0), 1);
+		Assert.assertEquals(histogram.getValueAtPercentile(50), 50);
+		Assert.assertEquals(histogram.getValueAtPercentile(90), 90);
+		Assert.assertEquals(histogram.getValueAtPercentile(99), 99);
+		Assert.assertEquals(histogram.getValueAtPercentile(99.9), 100);
+		Assert.assertEquals(histogram.getValueAtPercentile(100), 100);
+		Assert.assertEquals(histogram.getMinMicros(), 1);
+		Assert.assertEquals(histogram.getMaxMicros(), 100);
+		Assert.assertEquals(histogram.getMeanMicros(), 50.5, 0.001);
+	}
+
+	@Test(description = "A percentile is its bucket's upper end, capped at the maximum")
+	public void percentileIsBucketUpperEnd() {
+		Assert.assertEquals(recordMicros(256, 300).getValueAtPercentile(50), 259);
+		Assert.assertEquals(recordMicros(256).getValueAtPercentile(50), 256);
+	}
+
+	@Test(description = "Values beyond the highest trackable one are counted as it")
+	public void valuesAreClamped() {
+		LatencyHistogram histogram = new LatencyHistogram(1000);
+		histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+		histogram.record(-1);
+
+		Assert.assertEquals(histogram.getMaxMicros(), 1000);
+		Assert.assertEquals(histogram.getMinMicros(), 0);
+		Assert.assertEquals(histogram.getValueAtPercentile(100), 1000);
+	}
+
+	@Test(description = "An empty histogram reports zeros")
+	public void emptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		Assert.assertEquals(histogram.getCount(), 0);
+		Assert.assertEquals(histogram.getValueAtPercentile(99), 0);
+		Assert.assertEquals(histogram.getMinMicros(), 0);
+		Assert.assertEquals(histogram.getMaxMicros(), 0);
+		Assert.assertEquals(histogram.getMeanMicros(), 0.0);
+		Assert.assertTrue(histogram.buckets().isEmpty());
+	}
+}
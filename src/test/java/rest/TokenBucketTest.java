@@ -0,0 +1,66 @@
+package rest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Refill and burst behaviour of {@link TokenBucket}, on a stepped clock.
+ */
+public class TokenBucketTest {
+
+	@Test(description = "A new bucket allows a burst and then runs dry")
+	public void startsFullAndRunsDry() {
+		TokenBucket bucket = new TokenBucket(10, 3);
+		long start = System.nanoTime();
+
+		Assert.assertTrue(bucket.tryAcquire(start));
+		Assert.assertTrue(bucket.tryAcquire(start));
+		Assert.assertTrue(bucket.tryAcquire(start));
+		Assert.assertFalse(bucket.tryAcquire(start));
+	}
+
+	@Test(description = "Tokens come back at the configured rate")
+	public void refillsAtRate() {
+		TokenBucket bucket = new TokenBucket(10, 3);
+		long start = System.nanoTime();
+		for (int i = 0; i < 3; i++) {
+			bucket.tryAcquire(start);
+		}
+
+		Assert.assertFalse(bucket.tryAcquire(start + TimeUnit.MILLISECONDS.toNanos(50)));
+		Assert.assertTrue(bucket.tryAcquire(start + TimeUnit.MILLISECONDS.toNanos(100)));
+		Assert.assertFalse(bucket.tryAcquire(start + TimeUnit.MILLISECONDS.toNanos(100)));
+		Assert.assertEquals(bucket.available(start + TimeUnit.MILLISECONDS.toNanos(250)), 1.5, 0.01);
+	}
+
+	@Test(description = "An idle bucket saves up no more than the burst")
+	public void refillStopsAtBurst() {
+		TokenBucket bucket = new TokenBucket(10, 3);
+		long start = System.nanoTime();
+		bucket.tryAcquire(start);
+
+		Assert.assertEquals(bucket.available(start + TimeUnit.SECONDS.toNanos(60)), 3.0);
+	}
+
+	@Test(description = "A rate of 0 disables limiting")
+	public void zeroRateNeverLimits() {
+		TokenBucket bucket = new TokenBucket(0, 1);
+		for (int i = 0; i < 100; i++) {
+			Assert.assertTrue(bucket.tryAcquire());
+		}
+	}
+
+	@Test(description = "acquire waits for the next token once the bucket is empty")
+	public void acquireWaitsForToken() {
+		TokenBucket bucket = new TokenBucket(20, 1);
+		bucket.acquire();
+
+		long start = System.nanoTime();
+		bucket.acquire();
+		long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		// one token every 50 ms
+		Assert.assertTrue(waitedMillis >= 40, "waited only " + waitedMillis + " ms");
+	}
+}
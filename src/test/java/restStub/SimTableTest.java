@@ -0,0 +1,121 @@
+package restStub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Lookups and limit/offset paging of {@link SimTable} once rows are deleted
+ * and created.
+ */
+public class SimTableTest {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static SimTable table(int generated) {
+		return new SimTable("id", generated, id -> MAPPER.createObjectNode().put("id", id).put("name", "row-" + id));
+	}
+
+	private static List<Integer> ids(List<ObjectNode> rows) {
+		return rows.stream().map(row -> row.get("id").asInt()).collect(Collectors.toList());
+	}
+
+	// every offset and limit must page through the live ids in order
+	private static void assertPagesMatch(SimTable table, List<Integer> live) {
+		for (int limit = 1; limit <= 4; limit++) {
+			for (int offset = 0; offset <= live.size() + 1; offset++) {
+				List<Integer> expected = live.subList(Math.min(offset, live.size()),
+						Math.min(offset + limit, live.size()));
+				Assert.assertEquals(ids(table.page(offset, limit, null)), expected,
+						"offset " + offset + ", limit " + limit);
+			}
+		}
+		Assert.assertEquals(ids(table.page(0, 0, null)), live);
+		Assert.assertEquals(table.total(), live.size());
+	}
+
+	@Test(description = "Generated rows page in id order")
+	public void pagesGeneratedRows() {
+		SimTable table = table(10);
+
+		Assert.assertEquals(ids(table.page(0, 3, null)), Arrays.asList(1, 2, 3));
+		Assert.assertEquals(ids(table.page(8, 5, null)), Arrays.asList(9, 10));
+		Assert.assertTrue(table.page(10, 5, null).isEmpty());
+		assertPagesMatch(table, Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+	}
+
+	@Test(description = "Pages skip deleted rows, including runs of them and the first and last row")
+	public void pagesSkipDeletedRows() {
+		SimTable table = table(12);
+		for (int id : new int[] { 1, 3, 4, 5, 9, 12 }) {
+			Assert.assertTrue(table.delete(id));
+		}
+
+		Assert.assertEquals(ids(table.page(0, 2, null)), Arrays.asList(2, 6));
+		Assert.assertEquals(ids(table.page(2, 3, null)), Arrays.asList(7, 8, 10));
+		assertPagesMatch(table, Arrays.asList(2, 6, 7, 8, 10, 11));
+	}
+
+	@Test(description = "Created rows follow the generated ones and page across the boundary")
+	public void pagesAcrossCreatedRows() {
+		SimTable table = table(6);
+		table.delete(2);
+		table.delete(6);
+		List<Integer> created = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			created.add(table.create(MAPPER.createObjectNode().put("name", "new-" + i)).get("id").asInt());
+		}
+		Assert.assertEquals(created, Arrays.asList(7, 8, 9));
+		Assert.assertTrue(table.delete(8));
+
+		Assert.assertEquals(ids(table.page(3, 3, null)), Arrays.asList(5, 7, 9));
+		assertPagesMatch(table, Arrays.asList(1, 3, 4, 5, 7, 9));
+	}
+
+	@Test(description = "Deleted rows are gone for lookups and cannot be deleted twice")
+	public void deletedRowsAreGone() {
+		SimTable table = table(5);
+
+		Assert.assertTrue(table.delete(3));
+		Assert.assertFalse(table.delete(3));
+		Assert.assertFalse(table.delete(99));
+		Assert.assertNull(table.get(3));
+		Assert.assertNull(table.update(3, MAPPER.createObjectNode().put("name", "back")));
+		Assert.assertNull(table.get(0));
+		Assert.assertNull(table.get(6));
+		Assert.assertEquals(table.get(4).get("name").asText(), "row-4");
+		Assert.assertEquals(table.total(), 4);
+	}
+
+	@Test(description = "Updated rows keep their id and position and the fields not given")
+	public void updatedRowsKeepTheirPlace() {
+		SimTable table = table(5);
+
+		ObjectNode updated = table.update(2, MAPPER.createObjectNode().put("name", "renamed").put("id", 42));
+		Assert.assertEquals(updated.get("id").asInt(), 2);
+		Assert.assertEquals(table.get(2).get("name").asText(), "renamed");
+		Assert.assertEquals(ids(table.page(1, 2, null)), Arrays.asList(2, 3));
+		Assert.assertEquals(table.page(1, 1, null).get(0).get("name").asText(), "renamed");
+		Assert.assertEquals(table.total(), 5);
+	}
+
+	@Test(description = "Filtered pages and counts see deletions, updates and created rows")
+	public void filteredPagesAndCounts() {
+		SimTable table = table(10);
+		table.delete(4);
+		table.update(5, MAPPER.createObjectNode().put("name", "other"));
+		table.create(MAPPER.createObjectNode().put("name", "row-new"));
+
+		Assert.assertEquals(table.count(row -> row.get("name").asText().startsWith("row-")), 9);
+		Assert.assertEquals(ids(table.page(2, 3, row -> row.get("id").asInt() % 2 == 0)), Arrays.asList(8, 10));
+		// only ids 3 to 6 are scanned; created rows are always included
+		Assert.assertEquals(ids(table.page(0, 0, row -> true, 3, 6)), Arrays.asList(3, 5, 6, 11));
+		Assert.assertEquals(table.count(row -> true, 3, 6), 4);
+	}
+}
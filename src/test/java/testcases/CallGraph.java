@@ -0,0 +1,144 @@
+package testcases;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import restConfig.ConfigManager;
+
+/**
+ * The calls of every method of a source file and of the helper sources listed
+ * in validator.sources, followed through the helpers: if GetHolidayData calls
+ * a helper of these sources that calls given(), GetHolidayData calls given().
+ * The reachable calls of all methods are worked out once, when the graph is
+ * built, so asking whether a method calls an API is a set lookup, and the
+ * answer for a method and its keywords is kept with the graph.
+ *
+ * {@link #of(String)} keeps one graph per file and builds it again only when
+ * one of its sources has changed (see {@link SourceIndex#of(String)}).
+ */
+public class CallGraph {
+	private static final Map<String, CallGraph> CACHE = new ConcurrentHashMap<>();
+
+	private final List<SourceIndex> sources;
+	private final Map<String, Set<String>> reachable = new HashMap<>();
+	private final Map<String, List<String>> missing = new ConcurrentHashMap<>();
+	private final SourceIndex target;
+
+	private CallGraph(List<SourceIndex> sources) {
+		this.sources = sources;
+		this.target = sources.get(0);
+		Map<String, Set<String>> direct = new HashMap<>();
+		for (SourceIndex source : sources) {
+			for (SourceIndex.Method method : source.getMethods()) {
+				// overloads share a name, so they share their calls too
+				direct.computeIfAbsent(method.getName(), name -> new HashSet<>()).addAll(method.getCalls());
+			}
+		}
+		for (String name : direct.keySet()) {
+			reachable.put(name, Collections.unmodifiableSet(reach(name, direct)));
+		}
+	}
+
+	/**
+	 * Returns the call graph of a source file and the configured helper sources,
+	 * building it only if it has not been built yet or a source has changed.
+	 *
+	 * @param filePath the source file whose methods are checked
+	 * @return the graph
+	 * @throws IOException if a source cannot be read
+	 */
+	public static CallGraph of(String filePath) throws IOException {
+		List<SourceIndex> sources = new ArrayList<>();
+		sources.add(SourceIndex.of(filePath));
+		for (String helper : ConfigManager.config().getString("validator.sources", "").split(",")) {
+			if (!helper.trim().isEmpty()) {
+				sources.add(SourceIndex.of(Paths.get(System.getProperty("user.dir"), helper.trim()).toString()));
+			}
+		}
+		// SourceIndex hands out the same index while a file is unchanged
+		return CACHE.compute(filePath,
+				(key, current) -> current != null && sameSources(current.sources, sources) ? current
+						: new CallGraph(sources));
+	}
+
+	/**
+	 * Returns a method of the checked file.
+	 *
+	 * @param methodName the method name
+	 * @return the method, or null if the file has none of that name
+	 */
+	public SourceIndex.Method method(String methodName) {
+		return target.method(methodName);
+	}
+
+	/**
+	 * Tells whether a method calls another one, directly or through helper
+	 * methods of the sources.
+	 *
+	 * @param methodName the calling method
+	 * @param callee     the called method name, e.g. "given"
+	 * @return true if the call is reachable
+	 */
+	public boolean invokes(String methodName, String callee) {
+		return reachable.getOrDefault(methodName, Collections.emptySet()).contains(callee);
+	}
+
+	/**
+	 * Returns the keywords a method does not call, directly or through helper
+	 * methods; worked out once per method and keywords.
+	 *
+	 * @param methodName the calling method
+	 * @param keywords   the method names it has to call
+	 * @return the keywords not called, in the given order
+	 */
+	public List<String> missingCalls(String methodName, List<String> keywords) {
+		return missing.computeIfAbsent(methodName + keywords, key -> {
+			List<String> notCalled = new ArrayList<>();
+			for (String keyword : keywords) {
+				if (!invokes(methodName, keyword)) {
+					notCalled.add(keyword);
+				}
+			}
+			return Collections.unmodifiableList(notCalled);
+		});
+	}
+
+	// everything called from name, following the calls that are methods of the sources
+	private static Set<String> reach(String name, Map<String, Set<String>> direct) {
+		Set<String> calls = new LinkedHashSet<>();
+		Set<String> visited = new HashSet<>(Collections.singleton(name));
+		Deque<String> pending = new ArrayDeque<>(Collections.singleton(name));
+		while (!pending.isEmpty()) {
+			for (String callee : direct.get(pending.pop())) {
+				calls.add(callee);
+				if (direct.containsKey(callee) && visited.add(callee)) {
+					pending.push(callee);
+				}
+			}
+		}
+		return calls;
+	}
+
+	private static boolean sameSources(List<SourceIndex> current, List<SourceIndex> sources) {
+		if (current.size() != sources.size()) {
+			return false;
+		}
+		for (int i = 0; i < sources.size(); i++) {
+			if (current.get(i) != sources.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,276 @@
+package testcases;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.restassured.response.Response;
+
+/**
+ * The expected shape of one endpoint's response: an object or an array of
+ * objects at a dotted path (e.g. "data" or "data.headers") and, for each
+ * field, the checks its value has to pass. A shape is declared once, e.g.
+ *
+ * <pre>
+ * ResponseShape.list("data", "holiday").nonEmpty()
+ * 		.field("id", Check.NOT_NULL, Check.NUMBER)
+ * 		.field("date", Check.NOT_BLANK, Check.UNIQUE)
+ * </pre>
+ *
+ * and {@link #validate(Response)} then checks a body in one pass of Jackson's
+ * streaming parser, without building the rows as maps, and returns every
+ * violation rather than stopping at the first. A shape holds no state of a
+ * validation, so one instance can check responses on many threads.
+ */
+public class ResponseShape {
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	/**
+	 * A check on the value of a field. Every declared field also has to be
+	 * present.
+	 */
+	public enum Check {
+		/** The value is not null. */
+		NOT_NULL,
+		/** The value is not null, and not an empty or blank string. */
+		NOT_BLANK,
+		/** The value may be null even though NOT_NULL or NOT_BLANK is given. */
+		NULLABLE,
+		/** No other element of the array has the same value; null is ignored. */
+		UNIQUE,
+		/** The value, when not null, is a string. */
+		STRING,
+		/** The value, when not null, is a number. */
+		NUMBER,
+		/** The value, when not null, is true or false. */
+		BOOLEAN,
+		/** The value, when not null, is an object. */
+		OBJECT
+	}
+
+	private final String path;
+	private final String[] steps;
+	private final boolean array;
+	private final String entity;
+	private boolean nonEmpty;
+	private final Map<String, Integer> fieldIndex = new HashMap<>();
+	private final List<String> fields = new ArrayList<>();
+	private final List<Set<Check>> checks = new ArrayList<>();
+
+	private ResponseShape(String path, boolean array, String entity) {
+		this.path = path;
+		this.steps = path.split("\\.");
+		this.array = array;
+		this.entity = entity;
+	}
+
+	/**
+	 * Declares an array of objects at a path.
+	 *
+	 * @param path   dotted path to the array, e.g. "data"
+	 * @param entity what one element is called in the messages, e.g. "holiday"
+	 * @return the shape
+	 */
+	public static ResponseShape list(String path, String entity) {
+		return new ResponseShape(path, true, entity);
+	}
+
+	/**
+	 * Declares an object at a path.
+	 *
+	 * @param path dotted path to the object, e.g. "data"
+	 * @return the shape
+	 */
+	public static ResponseShape object(String path) {
+		return new ResponseShape(path, false, "'" + path + "' object");
+	}
+
+	/**
+	 * Requires the array to have at least one element.
+	 *
+	 * @return this shape
+	 */
+	public ResponseShape nonEmpty() {
+		this.nonEmpty = true;
+		return this;
+	}
+
+	/**
+	 * Declares a field that must be present, and the checks on its value.
+	 *
+	 * @param name   the field name
+	 * @param checks the checks on its value
+	 * @return this shape
+	 */
+	public ResponseShape field(String name, Check... checks) {
+		if (fieldIndex.putIfAbsent(name, fields.size()) != null) {
+			throw new IllegalArgumentException("Field '" + name + "' is declared twice for '" + path + "'");
+		}
+		Set<Check> set = EnumSet.noneOf(Check.class);
+		set.addAll(List.of(checks));
+		if (set.contains(Check.UNIQUE) && !array) {
+			throw new IllegalArgumentException("Field '" + name + "' of an object cannot be unique");
+		}
+		fields.add(name);
+		this.checks.add(set);
+		return this;
+	}
+
+	/**
+	 * Checks a response body against the shape.
+	 *
+	 * @param response the response
+	 * @return the violations, empty if the body has the shape
+	 */
+	public List<String> validate(Response response) {
+		return validate(response.asByteArray());
+	}
+
+	/**
+	 * Checks a body against the shape.
+	 *
+	 * @param body the JSON body
+	 * @return the violations, empty if the body has the shape
+	 */
+	public List<String> validate(byte[] body) {
+		List<String> violations = new ArrayList<>();
+		String missing = nonEmpty ? "'" + path + "' section is missing or empty in the response."
+				: "'" + path + "' section is missing in the response.";
+		if (body == null || body.length == 0) {
+			violations.add(missing);
+			return violations;
+		}
+		try (JsonParser parser = FACTORY.createParser(body)) {
+			if (parser.nextToken() == null || !moveTo(parser, 0) || parser.currentToken() == JsonToken.VALUE_NULL) {
+				violations.add(missing);
+				return violations;
+			}
+			JsonToken token = parser.currentToken();
+			if (!array) {
+				if (token != JsonToken.START_OBJECT) {
+					violations.add("⚠️ '" + path + "' is not a valid object: " + token);
+					return violations;
+				}
+				readElement(parser, -1, new boolean[fields.size()], null, violations);
+				return violations;
+			}
+			if (token != JsonToken.START_ARRAY) {
+				violations.add("⚠️ '" + path + "' is not a valid list: " + token);
+				return violations;
+			}
+			boolean[] seen = new boolean[fields.size()];
+			Map<String, Set<String>> uniqueValues = new HashMap<>();
+			int index = 0;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				if (token == JsonToken.START_OBJECT) {
+					readElement(parser, index, seen, uniqueValues, violations);
+				} else {
+					parser.skipChildren();
+					violations.add("⚠️ Element at index " + index + " of '" + path + "' is not an object: " + token);
+				}
+				index++;
+			}
+			if (index == 0 && nonEmpty) {
+				violations.add(missing);
+			}
+		} catch (IOException e) {
+			violations.add("❌ Response body is not valid JSON: " + e.getMessage());
+		}
+		return violations;
+	}
+
+	// advances the parser to the value at steps[step..], which starts at the current token
+	private boolean moveTo(JsonParser parser, int step) throws IOException {
+		if (step == steps.length) {
+			return true;
+		}
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			return false;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			if (name.equals(steps[step])) {
+				return moveTo(parser, step + 1);
+			}
+			parser.skipChildren();
+		}
+		return false;
+	}
+
+	// checks one object, the parser on its START_OBJECT; index is -1 for a single object
+	private void readElement(JsonParser parser, int index, boolean[] seen, Map<String, Set<String>> uniqueValues,
+			List<String> violations) throws IOException {
+		String where = index < 0 ? " in " + entity + "." : " in " + entity + " at index " + index;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			Integer field = fieldIndex.get(parser.getCurrentName());
+			JsonToken token = parser.nextToken();
+			if (field == null || seen[field]) {
+				parser.skipChildren();
+				continue;
+			}
+			seen[field] = true;
+			checkValue(parser, token, field, index, where, uniqueValues, violations);
+			parser.skipChildren();
+		}
+		for (int i = 0; i < seen.length; i++) {
+			if (!seen[i]) {
+				violations.add("❌ Missing field '" + fields.get(i) + "'" + where);
+			}
+			seen[i] = false;
+		}
+	}
+
+	private void checkValue(JsonParser parser, JsonToken token, int field, int index, String where,
+			Map<String, Set<String>> uniqueValues, List<String> violations) throws IOException {
+		String name = fields.get(field);
+		Set<Check> fieldChecks = checks.get(field);
+		if (token == JsonToken.VALUE_NULL) {
+			if ((fieldChecks.contains(Check.NOT_NULL) || fieldChecks.contains(Check.NOT_BLANK))
+					&& !fieldChecks.contains(Check.NULLABLE)) {
+				violations.add("⚠️ Field '" + name + "' is null" + where);
+			}
+			return;
+		}
+		if (token == JsonToken.VALUE_STRING && fieldChecks.contains(Check.NOT_BLANK)
+				&& parser.getText().trim().isEmpty()) {
+			violations.add("⚠️ Field '" + name + "' is empty string" + where);
+		}
+		String expected = expectedType(fieldChecks, token);
+		if (expected != null) {
+			violations.add("⚠️ Field '" + name + "' is not " + expected + where);
+		}
+		if (fieldChecks.contains(Check.UNIQUE) && token.isScalarValue()) {
+			String value = parser.getText();
+			if (!uniqueValues.computeIfAbsent(name, key -> new HashSet<>()).add(value)) {
+				violations.add("⚠️ Duplicate " + name + " found: " + value + " at index " + index);
+			}
+		}
+	}
+
+	// the type the value should have had, or null if it has the declared type
+	private static String expectedType(Set<Check> fieldChecks, JsonToken token) {
+		if (fieldChecks.contains(Check.STRING) && token != JsonToken.VALUE_STRING) {
+			return "a string";
+		}
+		if (fieldChecks.contains(Check.NUMBER) && !token.isNumeric()) {
+			return "a number";
+		}
+		if (fieldChecks.contains(Check.BOOLEAN) && !token.isBoolean()) {
+			return "a boolean";
+		}
+		if (fieldChecks.contains(Check.OBJECT) && token != JsonToken.START_OBJECT) {
+			return "an object";
+		}
+		return null;
+	}
+}
@@ -1,24 +1,40 @@
 package testcases;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.security.SecureRandom;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
 import io.restassured.RestAssured;
+import io.restassured.http.Cookie;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import rest.ApiCall;
 import rest.ApiUtil;
+import rest.ApiUtilAsync;
+import rest.BulkCreator;
 import rest.CustomResponse;
+import rest.HttpAuthenticator;
+import rest.LatencySlo;
+import rest.MetricsInterceptor;
+import rest.SessionStore;
+import rest.SharedHttpClient;
+import restConfig.ConfigManager;
 
 //import rest.ApiUtil;
 import org.slf4j.Logger;
@@ -30,24 +46,53 @@ public class RestAssured_TestCases {
 	private static String username;
 	private static String password;
 	private static String cookieValue = null;
+	// upper limit for a single read in the functional tests; see slo.json for the suite-level limits
+	private static final long MAX_RESPONSE_MILLIS = ConfigManager.config().getLong("slo.maxResponseMillis", 5000);
 	private ApiUtil apiUtil;
 	private int userIdToDelete;
 	private int userIdToDelete1;
 	private int userId;
 	private int idBefore;
 
-	private String apiUtilPath = System.getProperty("user.dir") + "\\src\\main\\java\\rest\\ApiUtil.java";
+	private String apiUtilPath = Paths.get(System.getProperty("user.dir"), "src", "main", "java", "rest", "ApiUtil.java")
+			.toString();
 	private String excelPath = System.getProperty("user.dir") + "\\src\\main\\resources\\TestData.xlsx";
 
+	// RestAssured calls each ApiUtil method has to make, checked once at suite start
+	private static final Map<String, List<String>> REQUIRED_CALLS = new LinkedHashMap<>();
+	static {
+		for (String method : List.of("GetHolidayData", "GetLeaveData", "GetEmpCount", "GetLeaveType", "GetUsageReport",
+				"GetVacancies", "GetJobTitles", "GetEmpPersonalDetails", "GetEmpData", "GetLeaveWorkWeek")) {
+			REQUIRED_CALLS.put(method, List.of("given", "cookie", "get", "response"));
+		}
+		REQUIRED_CALLS.put("PostEmployee", List.of("given", "cookie", "post", "response"));
+		REQUIRED_CALLS.put("putEmployeeDetails", List.of("given", "cookie", "body", "put", "response"));
+		REQUIRED_CALLS.put("PostJobCategoriesTest", List.of("given", "cookie", "post", "response"));
+		REQUIRED_CALLS.put("PostCandidate", List.of("given", "cookie", "post", "response"));
+		REQUIRED_CALLS.put("DeleterecruitmentCad", List.of("given", "cookie", "body", "delete", "response"));
+	}
+
 	/**
-	 * @BeforeClass method to perform login via Selenium and retrieve session cookie
-	 *              for authenticated API calls.
+	 * @BeforeSuite method that validates the implementation of all ApiUtil
+	 *              methods in one batch: ApiUtil.java is indexed once and each
+	 *              test's validateTestMethodFromFile check is then a lookup of the
+	 *              result. A failed method, or a source that cannot be read, is
+	 *              reported here and fails only the tests of that method.
+	 */
+	@BeforeSuite(alwaysRun = true)
+	public void validateApiUtilImplementation() {
+		TestCodeValidator.validateAllFromFile(apiUtilPath, REQUIRED_CALLS);
+	}
+
+	/**
+	 * @BeforeClass method to perform login and retrieve the session cookie for
+	 *              authenticated API calls.
 	 * 
-	 *              Steps: 1. Setup ChromeDriver using WebDriverManager. 2. Launch
-	 *              browser and open the OrangeHRM login page. 3. Perform login with
-	 *              provided username and password. 4. Wait for login to complete
-	 *              and extract the 'orangehrm' session cookie. 5. Store the cookie
-	 *              value to be used in API requests. 6. Quit the browser session.
+	 *              By default (auth.mode=http) the login is done over plain HTTP
+	 *              by HttpAuthenticator: fetch the login page, extract the CSRF
+	 *              token, post the credentials and keep the 'orangehrm' session
+	 *              cookie. With auth.mode=selenium, or if the HTTP login fails,
+	 *              the browser login below is used instead.
 	 * 
 	 *              Throws: - InterruptedException if thread sleep is interrupted. -
 	 *              RuntimeException if the required session cookie is not found.
@@ -55,37 +100,37 @@ public class RestAssured_TestCases {
 
 	@Test(priority = 0, groups = { "PL2" }, description = "Login to OrangeHRM and retrieve session cookie")
 	public void loginWithSeleniumAndGetCookie() throws InterruptedException {
-		WebDriverManager.chromedriver().setup();
-		WebDriver driver = new ChromeDriver();
-
 		apiUtil = new ApiUtil();
 		baseUrl = apiUtil.getBaseUrl();
 		username = apiUtil.getUsername();
 		password = apiUtil.getPassword();
 
-		driver.get(baseUrl + "/web/index.php/auth/login");
-		Thread.sleep(3000); // Wait for page load
-
-		// Login to the app
-		driver.findElement(By.name("username")).sendKeys(username);
-		driver.findElement(By.name("password")).sendKeys(password);
-		driver.findElement(By.cssSelector("button[type='submit']")).click();
-		Thread.sleep(6000); // Wait for login
+		// A session stored by a previous run is reused if the server still accepts it
+		SessionStore sessions = SessionStore.fromConfig();
+		cookieValue = sessions.reuse(baseUrl, username);
+		if (cookieValue != null) {
+			io.restassured.RestAssured.useRelaxedHTTPSValidation();
+			return;
+		}
 
-		// Extract cookie named "orangehrm"
-		Set<org.openqa.selenium.Cookie> cookies = driver.manage().getCookies();
-		for (org.openqa.selenium.Cookie cookie : cookies) {
-			if (cookie.getName().equals("orangehrm")) {
-				cookieValue = cookie.getValue();
-				break;
+		Date expiry = null;
+		if (!"selenium".equalsIgnoreCase(ConfigManager.config().getString("auth.mode", "http"))) {
+			try {
+				Cookie session = new HttpAuthenticator(baseUrl).authenticate(username, password);
+				cookieValue = session.getValue();
+				expiry = session.getExpiryDate();
+			} catch (RuntimeException e) {
+				System.out.println("⚠️ HTTP login failed, falling back to Selenium: " + e.getMessage());
 			}
 		}
-
-		driver.quit();
+		if (cookieValue == null) {
+			cookieValue = loginWithBrowser();
+		}
 
 		if (cookieValue == null) {
 			throw new RuntimeException("orangehrm cookie not found after login");
 		}
+		sessions.save(baseUrl, username, cookieValue, expiry);
 
 		io.restassured.RestAssured.useRelaxedHTTPSValidation();
 	}
@@ -110,9 +155,10 @@ public class RestAssured_TestCases {
 
 		// Step 3: Validate status code
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
 
 		// Step 4: Validate status field
-		Assert.assertEquals(customResponse.getStatus(), "HTTP/1.0 200 OK", "Status should be OK.");
+		assertStatusOk(customResponse.getStatus());
 
 		// Step 5: Validate id, name, and date fields
 		List<Object> itemIds = customResponse.getIds(); // id
@@ -160,9 +206,10 @@ public class RestAssured_TestCases {
 
 		// Step 3: Validate status code
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
 
 		// Step 4: Validate status field
-		Assert.assertEquals(customResponse.getStatus(), "HTTP/1.0 200 OK", "Status should be OK.");
+		assertStatusOk(customResponse.getStatus());
 
 		// Step 5: Validate id, name, and date fields
 		List<Object> itemIds = customResponse.getIds(); // id
@@ -206,8 +253,9 @@ public class RestAssured_TestCases {
 				"Response must contain all required fields (count)");
 
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
 
-		Assert.assertEquals(customResponse.getStatus(), "HTTP/1.0 200 OK", "Status should be OK.");
+		assertStatusOk(customResponse.getStatus());
 
 		int Empcount = customResponse.getEmpCount();
 		System.out.println(Empcount);
@@ -243,9 +291,10 @@ public class RestAssured_TestCases {
 				"Response must contain all required fields (id, name, date)");
 
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
 
 		// Step 4: Validate status field
-		Assert.assertEquals(customResponse.getStatus(), "HTTP/1.0 200 OK", "Status should be OK.");
+		assertStatusOk(customResponse.getStatus());
 
 		List<Object> itemIds = customResponse.getIds();
 		List<Object> itemNames = customResponse.getNames();
@@ -291,7 +340,8 @@ public class RestAssured_TestCases {
 				"Response must contain all required fields (name, prop, size, pin, cellProperties)");
 
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
-		Assert.assertEquals(customResponse.getStatus(), "HTTP/1.0 200 OK", "Status should be OK.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
+		assertStatusOk(customResponse.getStatus());
 
 		List<Object> names = customResponse.getNames();
 		List<Object> props = customResponse.getProps();
@@ -341,7 +391,8 @@ public class RestAssured_TestCases {
 				"Response must contain all required fields (name, id, status, jobtitle)");
 
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
-		Assert.assertEquals(customResponse.getStatusLine(), "HTTP/1.0 200 OK", "Status should be OK.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
+		assertStatusOk(customResponse.getStatusLine());
 
 		List<Object> itemIds = customResponse.getIds();
 		List<Object> itemNames = customResponse.getNames();
@@ -375,7 +426,8 @@ public class RestAssured_TestCases {
 		Assert.assertTrue(isImplementationCorrect, "GetJobTitles must be implemented using RestAssured methods only!");
 
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
-		Assert.assertEquals(customResponse.getStatusLine(), "HTTP/1.0 200 OK", "Status should be OK.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
+		assertStatusOk(customResponse.getStatusLine());
 
 		List<Object> itemIds = (List<Object>) customResponse.getId();
 		List<Object> itemTitles = customResponse.getNames();
@@ -397,7 +449,7 @@ public class RestAssured_TestCases {
 					+ "6. Assert that important fields are not null or empty")
 	public void GetEmpPersonalDetails() throws IOException {
 		JsonPath json = RestAssured.given().cookie("orangehrm", cookieValue) // 🔑 Add valid cookie
-				.get("https://yakshahrm.makemylabs.in/orangehrm-5.7/web/index.php/api/v2/pim/employees").jsonPath();
+				.get(baseUrl + "/web/index.php/api/v2/pim/employees").jsonPath();
 
 		Integer empNumber = json.getInt("data[0].empNumber");
 		String endpoint = "/web/index.php/api/v2/pim/employees/" + empNumber + "/personal-details";
@@ -411,7 +463,8 @@ public class RestAssured_TestCases {
 
 		// ✅ Validate HTTP response
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
-		Assert.assertEquals(customResponse.getStatusLine(), "HTTP/1.0 200 OK", "Status should be OK.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
+		assertStatusOk(customResponse.getStatusLine());
 
 		// ✅ Validate extracted fields
 		Assert.assertNotNull(customResponse.getEmpNumber(), "empNumber should not be null.");
@@ -439,7 +492,7 @@ public class RestAssured_TestCases {
 					+ "6. Assert that important fields are not null or empty")
 	public void GetEmpData() throws IOException {
 		JsonPath json = RestAssured.given().cookie("orangehrm", cookieValue) // 🔑 Add valid cookie
-				.get("https://yakshahrm.makemylabs.in/orangehrm-5.7/web/index.php/api/v2/pim/employees").jsonPath();
+				.get(baseUrl + "/web/index.php/api/v2/pim/employees").jsonPath();
 
 		Integer empNumber = json.getInt("data[0].empNumber");
 		String endpoint = "/web/index.php/api/v2/pim/employees/" + empNumber;
@@ -453,7 +506,8 @@ public class RestAssured_TestCases {
 
 		// ✅ Validate HTTP response
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
-		Assert.assertEquals(customResponse.getStatusLine(), "HTTP/1.0 200 OK", "Status should be OK.");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
+		assertStatusOk(customResponse.getStatusLine());
 
 		// ✅ Validate extracted fields (fix: check first element in the lists)
 		Assert.assertNotNull(customResponse.getEmpNumbers(), "empNumbers list should not be null.");
@@ -507,6 +561,7 @@ public class RestAssured_TestCases {
 		// ✅ Assertions
 
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200");
+		customResponse.assertResponseTimeBelow(MAX_RESPONSE_MILLIS);
 
 		Assert.assertNotNull(customResponse.getData(), "Workweek data must not be null");
 
@@ -535,10 +590,9 @@ public class RestAssured_TestCases {
 		String lastName = "Employee_" + System.currentTimeMillis();
 
 		// Step 2: Create request body
-		String body = "{\n" + "  \"empPicture\": null,\n" + "  \"firstName\": \"" + uniqueName + "\",\n"
-				+ "  \"lastName\": \"" + java.util.UUID.randomUUID().toString().substring(0, 5) + "\",\n"
-				+ "  \"middleName\": \"" + lastName + java.util.UUID.randomUUID().toString().substring(0, 5) + "\"\n"
-				+ "}";
+		String body = BulkCreator.employee(uniqueName,
+				lastName + java.util.UUID.randomUUID().toString().substring(0, 5),
+				java.util.UUID.randomUUID().toString().substring(0, 5));
 
 		String endpoint = "/web/index.php/api/v2/pim/employees";
 
@@ -570,7 +624,7 @@ public class RestAssured_TestCases {
 					+ "5. Assert response code is 200 and updated name is reflected in the response")
 	public void putEmployeeDeatils() throws IOException {
 		JsonPath json = RestAssured.given().cookie("orangehrm", cookieValue) // 🔑 Add valid cookie
-				.get("https://yakshahrm.makemylabs.in/orangehrm-5.7/web/index.php/api/v2/pim/employees").jsonPath();
+				.get(baseUrl + "/web/index.php/api/v2/pim/employees").jsonPath();
 
 		Integer empNumber = json.getInt("data[0].empNumber");
 		String requestBody = "{\n" + "  \"firstName\": \"John123\",\n" + "  \"lastName\": \"abcde\",\n"
@@ -702,7 +756,7 @@ public class RestAssured_TestCases {
 
 		Response response = RestAssured.given().cookie("orangehrm", cookieValue)
 				.header("Content-Type", "application/json")
-				.get("https://yakshahrm.makemylabs.in/orangehrm-5.7/web/index.php/api/v2/recruitment/candidates").then()
+				.get(baseUrl + "/web/index.php/api/v2/recruitment/candidates").then()
 				.statusCode(200).extract().response();
 
 		// Fetch first candidate's ID
@@ -726,10 +780,105 @@ public class RestAssured_TestCases {
 		Assert.assertNotNull(deleteResponse.getResponseBody(), "Response body should not be null after deletion");
 	}
 
+	@Test(priority = 16, dependsOnMethods = "loginWithSeleniumAndGetCookie", groups = {
+			"PL2" }, description = "1. Fan out GET requests for holidays, leave data, job titles and the leave workweek\n"
+					+ "2. Send all four requests concurrently through ApiUtilAsync with a valid cookie\n"
+					+ "3. Join once on the combined future\n"
+					+ "4. Assert every response has status code 200 and carries data")
+	public void GetReadOnlyDataConcurrently() {
+		String holidaysEndpoint = "/web/index.php/api/v2/leave/holidays?fromDate=2025-01-01&toDate=2025-12-31";
+		ApiUtilAsync apiUtilAsync = new ApiUtilAsync(baseUrl);
+
+		CompletableFuture<CustomResponse> holidays = apiUtilAsync.GetHolidayData(holidaysEndpoint, cookieValue, null);
+		CompletableFuture<CustomResponse> leaves = apiUtilAsync.GetLeaveData(holidaysEndpoint, cookieValue, null);
+		CompletableFuture<CustomResponse> jobTitles = apiUtilAsync
+				.GetJobTitles("/web/index.php/api/v2/admin/job-titles?limit=0", cookieValue, null);
+		CompletableFuture<CustomResponse> workWeek = apiUtilAsync
+				.GetLeaveWorkWeek("/web/index.php/api/v2/leave/workweek?model=indexed", cookieValue);
+
+		List<CustomResponse> responses = ApiUtilAsync.allOf(List.of(holidays, leaves, jobTitles, workWeek))
+				.join();
+
+		for (CustomResponse customResponse : responses) {
+			Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200.");
+		}
+		Assert.assertFalse(holidays.join().getIds().isEmpty(), "Holiday ID list should not be empty.");
+		Assert.assertFalse(leaves.join().getIds().isEmpty(), "Leave ID list should not be empty.");
+		Assert.assertNotNull(jobTitles.join().getId(), "Job title ID list should not be null.");
+		Assert.assertNotNull(workWeek.join().getData(), "Workweek data must not be null");
+	}
+
+	/**
+	 * @AfterSuite method that checks the latency SLOs once every test of the suite
+	 *             has run: 1. Collect the per-endpoint latency histograms recorded
+	 *             during the suite. 2. Load the SLO file named by slo.file
+	 *             (p95/p99 and minimum throughput per endpoint). 3. Assert that no
+	 *             endpoint exceeds its latency limits or falls below its
+	 *             throughput.
+	 */
+	@AfterSuite(alwaysRun = true)
+	public void verifyLatencySlos() {
+		List<Map<String, Object>> summary = MetricsInterceptor.shared().summary();
+		List<String> violations = LatencySlo.fromConfig().check(summary);
+
+		System.out.println("API latency per endpoint: " + summary);
+		violations.forEach(violation -> System.out.println("❌ " + violation));
+		Assert.assertFalse(summary.isEmpty(), "No API latencies were recorded.");
+		Assert.assertTrue(violations.isEmpty(), "Latency SLOs exceeded:\n" + String.join("\n", violations));
+	}
+
 	// https://opensource-demo.orangehrmlive.com/web/index.php/api/v2/recruitment/candidates
 
 	// -------------------------------helper function------------------------
 
+	/**
+	 * Asserts a "200 OK" status line. The protocol is whatever the transport
+	 * negotiated: the live server answers HTTP/1.0 through RestAssured, while
+	 * http.transport=http2 reports HTTP/2 or HTTP/1.1.
+	 *
+	 * @param statusLine the status line of the response
+	 */
+	private static void assertStatusOk(String statusLine) {
+		Assert.assertTrue(statusLine != null && statusLine.matches("HTTP/[0-9.]+ 200 OK"),
+				"Status should be OK, was: " + statusLine);
+	}
+
+	/**
+	 * Selenium fallback login. Steps: 1. Setup ChromeDriver using
+	 * WebDriverManager. 2. Launch browser and open the OrangeHRM login page. 3.
+	 * Perform login with provided username and password. 4. Wait for login to
+	 * complete and extract the 'orangehrm' session cookie. 5. Quit the browser
+	 * session.
+	 *
+	 * @return the 'orangehrm' cookie value, or null if it was not set
+	 */
+	private String loginWithBrowser() throws InterruptedException {
+		WebDriverManager.chromedriver().setup();
+		WebDriver driver = new ChromeDriver();
+		String sessionCookie = null;
+
+		driver.get(baseUrl + "/web/index.php/auth/login");
+		Thread.sleep(3000); // Wait for page load
+
+		// Login to the app
+		driver.findElement(By.name("username")).sendKeys(username);
+		driver.findElement(By.name("password")).sendKeys(password);
+		driver.findElement(By.cssSelector("button[type='submit']")).click();
+		Thread.sleep(6000); // Wait for login
+
+		// Extract cookie named "orangehrm"
+		Set<org.openqa.selenium.Cookie> cookies = driver.manage().getCookies();
+		for (org.openqa.selenium.Cookie cookie : cookies) {
+			if (cookie.getName().equals("orangehrm")) {
+				sessionCookie = cookie.getValue();
+				break;
+			}
+		}
+
+		driver.quit();
+		return sessionCookie;
+	}
+
 	public Response getEmpId(String endpoint, String cookieValue, Map<String, String> body) {
 		RequestSpecification request = RestAssured.given().cookie("orangehrm", cookieValue).header("Content-Type",
 				"application/json");
@@ -793,7 +942,10 @@ public class RestAssured_TestCases {
 	public int getFirstEmploymentStatus() {
 		String endpoint = "/web/index.php/api/v2/admin/employment-statuses?limit=50&offset=0";
 
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).get(baseUrl + endpoint);
+		// Reference data: served from the shared client's cache when http.cache.enabled=true
+		SharedHttpClient client = SharedHttpClient.forBaseUrl(baseUrl);
+		Response response = client.execute(new ApiCall("GET", baseUrl + endpoint, cookieValue,
+				client.given().cookie("orangehrm", cookieValue), spec -> spec.get(baseUrl + endpoint)));
 
 		if (response.statusCode() == 200) {
 			int firstId = response.jsonPath().getInt("data[0].id");
@@ -809,8 +961,9 @@ public class RestAssured_TestCases {
 	public int getFirstJobTitleId() {
 		String endpoint = "/web/index.php/api/v2/admin/job-titles?limit=50&offset=0&sortField=jt.jobTitleName&sortOrder=ASC";
 
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.get(baseUrl + endpoint);
+		SharedHttpClient client = SharedHttpClient.forBaseUrl(baseUrl);
+		Response response = client.execute(new ApiCall("GET", baseUrl + endpoint, cookieValue,
+				client.given().cookie("orangehrm", cookieValue), spec -> spec.get(baseUrl + endpoint)));
 
 		System.out.println("Get Job Titles Response: " + response.asString());
 
@@ -0,0 +1,284 @@
+package testcases;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An index of the methods of one Java source file, built in a single pass: for
+ * every method of the top-level class its return type, the span of its body and
+ * the names of the methods it calls. {@link #of(String)} keeps one index per
+ * file and only reads the file again once its last-modified time or size has
+ * changed, so the {@link TestCodeValidator} checks of a test run are map
+ * lookups.
+ *
+ * Comments, string and char literals are blanked before the braces are
+ * counted, so braces inside them, or several braces on one line, do not end a
+ * method early.
+ */
+public class SourceIndex {
+	private static final Map<Path, SourceIndex> CACHE = new ConcurrentHashMap<>();
+	// the end of a method header: return type, name, parameters, throws
+	private static final Pattern HEADER = Pattern.compile("([\\w$.]+(?:<[^{};()]*>)?(?:\\[\\])*)\\s+([A-Za-z_$][\\w$]*)"
+			+ "\\s*\\([^{};]*\\)\\s*(?:throws\\s+[\\w$.,\\s]+)?$");
+	private static final Pattern MODIFIER = Pattern.compile(
+			"public|protected|private|static|final|synchronized|abstract|native|default");
+	private static final Pattern PUBLIC = Pattern.compile("\\bpublic\\b");
+	private static final Pattern CALL = Pattern.compile("\\b([A-Za-z_$][\\w$]*)\\s*\\(");
+	// words followed by a parenthesis that are not calls
+	private static final Set<String> KEYWORDS = Set.of("if", "for", "while", "switch", "catch", "synchronized",
+			"return", "try", "assert", "throw");
+
+	private final long lastModified;
+	private final long size;
+	private final String source;
+	private final List<Method> methods;
+	private final Map<String, Method> byName = new HashMap<>();
+
+	/**
+	 * One method of the indexed file.
+	 */
+	public static class Method {
+		private final String name;
+		private final String returnType;
+		private final boolean isPublic;
+		private final int bodyStart;
+		private final int bodyEnd;
+		private final Set<String> calls;
+
+		Method(String name, String returnType, boolean isPublic, int bodyStart, int bodyEnd, Set<String> calls) {
+			this.name = name;
+			this.returnType = returnType;
+			this.isPublic = isPublic;
+			this.bodyStart = bodyStart;
+			this.bodyEnd = bodyEnd;
+			this.calls = Collections.unmodifiableSet(calls);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getReturnType() {
+			return returnType;
+		}
+
+		public boolean isPublic() {
+			return isPublic;
+		}
+
+		/**
+		 * Returns the offset of the opening brace of the body.
+		 *
+		 * @return the offset in the source
+		 */
+		public int getBodyStart() {
+			return bodyStart;
+		}
+
+		/**
+		 * Returns the offset just after the closing brace of the body.
+		 *
+		 * @return the offset in the source
+		 */
+		public int getBodyEnd() {
+			return bodyEnd;
+		}
+
+		/**
+		 * Returns the names of the methods called in the body, outside comments
+		 * and strings, e.g. "given", "cookie" and "get".
+		 *
+		 * @return the called method names
+		 */
+		public Set<String> getCalls() {
+			return calls;
+		}
+
+		/**
+		 * Tells whether the body calls a method.
+		 *
+		 * @param methodName the method name
+		 * @return true if the body calls it
+		 */
+		public boolean calls(String methodName) {
+			return calls.contains(methodName);
+		}
+	}
+
+	private SourceIndex(long lastModified, long size, String source) {
+		this.lastModified = lastModified;
+		this.size = size;
+		this.source = source;
+		this.methods = Collections.unmodifiableList(index(blank(source)));
+		for (Method method : methods) {
+			byName.putIfAbsent(method.getName(), method);
+		}
+	}
+
+	/**
+	 * Returns the index of a source file, reading and indexing it only if it has
+	 * not been indexed yet or has changed since.
+	 *
+	 * @param filePath the source file
+	 * @return the index
+	 * @throws IOException if the file cannot be read
+	 */
+	public static SourceIndex of(String filePath) throws IOException {
+		Path path = Paths.get(filePath).toAbsolutePath().normalize();
+		BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		long size = attributes.size();
+		try {
+			return CACHE.compute(path, (key, current) -> {
+				if (current != null && current.lastModified == lastModified && current.size == size) {
+					return current;
+				}
+				try {
+					return new SourceIndex(lastModified, size, new String(Files.readAllBytes(key), StandardCharsets.UTF_8));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Returns a method; of overloaded methods the first one in the file.
+	 *
+	 * @param methodName the method name
+	 * @return the method, or null if the file has none of that name
+	 */
+	public Method method(String methodName) {
+		return byName.get(methodName);
+	}
+
+	/**
+	 * Returns all methods of the top-level class, overloads included.
+	 *
+	 * @return the methods in file order
+	 */
+	public List<Method> getMethods() {
+		return methods;
+	}
+
+	/**
+	 * Returns the source of a method body, from the start of the line with its
+	 * opening brace to the end of the line with its closing brace.
+	 *
+	 * @param method a method of this index
+	 * @return the body lines
+	 */
+	public String bodyLines(Method method) {
+		int start = source.lastIndexOf('\n', method.getBodyStart()) + 1;
+		int end = source.indexOf('\n', method.getBodyEnd());
+		return source.substring(start, end < 0 ? source.length() : end + 1);
+	}
+
+	// one pass over the blanked source: a '{' at class level opens a method if
+	// the text since the previous member matches HEADER
+	private static List<Method> index(String code) {
+		List<Method> methods = new ArrayList<>();
+		int depth = 0;
+		int memberStart = 0;
+		int bodyStart = -1;
+		Matcher header = null;
+		String headerText = null;
+		for (int i = 0; i < code.length(); i++) {
+			char c = code.charAt(i);
+			if (c == '{') {
+				if (depth == 1) {
+					String text = code.substring(memberStart, i).trim();
+					Matcher matcher = HEADER.matcher(text);
+					// "new Foo() {" opens an anonymous class, not a method
+					header = matcher.find() && !matcher.group(1).equals("new") ? matcher : null;
+					headerText = text;
+					bodyStart = i;
+				}
+				depth++;
+			} else if (c == '}') {
+				depth--;
+				if (depth == 1 && header != null) {
+					Set<String> calls = new HashSet<>();
+					Matcher call = CALL.matcher(code).region(bodyStart + 1, i);
+					while (call.find()) {
+						if (!KEYWORDS.contains(call.group(1))) {
+							calls.add(call.group(1));
+						}
+					}
+					String name = header.group(2);
+					// a constructor has a modifier where the return type would be
+					String returnType = MODIFIER.matcher(header.group(1)).matches() ? "" : header.group(1);
+					boolean isPublic = PUBLIC.matcher(headerText).region(0, header.start(1)).find()
+							|| returnType.isEmpty() && header.group(1).equals("public");
+					methods.add(new Method(name, returnType, isPublic, bodyStart, i + 1, calls));
+					header = null;
+				}
+				if (depth <= 1) {
+					memberStart = i + 1;
+				}
+			} else if (c == ';' && depth == 1) {
+				memberStart = i + 1;
+			}
+		}
+		return methods;
+	}
+
+	// the source with comments and the contents of string, text block and char
+	// literals replaced by spaces, keeping every offset and line break
+	private static String blank(String source) {
+		char[] code = source.toCharArray();
+		int i = 0;
+		while (i < code.length) {
+			char c = code[i];
+			char next = i + 1 < code.length ? code[i + 1] : 0;
+			if (c == '/' && next == '/') {
+				while (i < code.length && code[i] != '\n') {
+					code[i++] = ' ';
+				}
+			} else if (c == '/' && next == '*') {
+				int end = source.indexOf("*/", i + 2);
+				end = end < 0 ? code.length : end + 2;
+				for (; i < end; i++) {
+					code[i] = code[i] == '\n' ? '\n' : ' ';
+				}
+			} else if (c == '"' && source.startsWith("\"\"\"", i)) {
+				int end = source.indexOf("\"\"\"", i + 3);
+				end = end < 0 ? code.length : end;
+				for (i += 3; i < end; i++) {
+					code[i] = code[i] == '\n' ? '\n' : ' ';
+				}
+				i += 3;
+			} else if (c == '"' || c == '\'') {
+				for (i++; i < code.length && code[i] != c && code[i] != '\n'; i++) {
+					if (code[i] == '\\') {
+						code[i++] = ' ';
+					}
+					if (i < code.length) {
+						code[i] = ' ';
+					}
+				}
+				i++;
+			} else {
+				i++;
+			}
+		}
+		return new String(code);
+	}
+}